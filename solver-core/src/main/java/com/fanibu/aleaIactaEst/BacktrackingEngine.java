@@ -0,0 +1,47 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.List;
+import java.util.Optional;
+
+public class BacktrackingEngine implements SolverEngine { // the Solver search, a fresh solver per call
+
+    private final int numThreads;
+    private final PlacementTable placementTable;
+
+    public BacktrackingEngine(int numThreads) {
+        this(numThreads, PlacementTable.DEFAULT);
+    }
+
+    public BacktrackingEngine(int numThreads, PlacementTable placementTable) {
+        this.numThreads = numThreads;
+        this.placementTable = placementTable;
+    }
+
+    @Override
+    public String getName() {
+        return BACKTRACKING;
+    }
+
+    @Override
+    public SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        Solver solver = createSolver(false);
+        solver.solve(board, diceNumbers, fixedDiceNumbers);
+        return solver.getSolutions();
+    }
+
+    @Override
+    public Optional<BoardSnapshot> findFirstSolution(BoardSnapshot board, List<Integer> diceNumbers,
+                                                     List<Integer> fixedDiceNumbers) {
+        Solver solver = createSolver(true);
+        solver.solve(board, diceNumbers, fixedDiceNumbers);
+        SolutionList solutions = solver.getSolutions();
+        return solutions.isEmpty() ? Optional.empty() : Optional.of(solutions.get(0));
+    }
+
+    private Solver createSolver(boolean searchOnlyOneSolution) {
+        Solver solver = new Solver(null, searchOnlyOneSolution, numThreads);
+        solver.setPrintStatistics(false);
+        solver.setPlacementTable(placementTable);
+        return solver;
+    }
+}
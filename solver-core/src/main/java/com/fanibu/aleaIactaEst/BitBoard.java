@@ -0,0 +1,46 @@
+package com.fanibu.aleaIactaEst;
+
+public final class BitBoard {
+
+    public static final int NUM_FIELDS = Board.DIM * Board.DIM;
+
+    public static final long ALL_FIELDS = NUM_FIELDS == Long.SIZE ? -1L : (1L << NUM_FIELDS) - 1;
+
+    private static final long FIRST_COLUMN = columnMask(0);
+    private static final long LAST_COLUMN = columnMask(Board.DIM - 1);
+
+    private BitBoard() {
+    }
+
+    public static int fieldIndex(int row, int column) {
+        return row * Board.DIM + column;
+    }
+
+    public static long fieldBit(int row, int column) {
+        return 1L << fieldIndex(row, column);
+    }
+
+    public static long neighbors(long fields) {
+        return (((fields << 1) & ~FIRST_COLUMN) // shifting a row end to the right would wrap into the next row
+                | ((fields >>> 1) & ~LAST_COLUMN)
+                | (fields << Board.DIM)
+                | (fields >>> Board.DIM)) & ALL_FIELDS;
+    }
+
+    public static long connectedComponent(long fields, long startField) {
+        long component = startField;
+        long grownComponent;
+        while ((grownComponent = (component | neighbors(component)) & fields) != component) {
+            component = grownComponent;
+        }
+        return component;
+    }
+
+    private static long columnMask(int column) {
+        long mask = 0;
+        for (int row = 0; row < Board.DIM; row++) {
+            mask |= fieldBit(row, column);
+        }
+        return mask;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.stream.Stream;
 public class Board {
 
 
-    private static final int[][] NUMBERS = { // original board (no solution for 6x2)
+    private static final int[][] NUMBERS = { // original board (no solution for 6x2), other layouts are in the LayoutRegistry
             {1, 5, 4, 3, 2, 6, 0},
             {0, 3, 1, 2, 6, 4, 5},
             {6, 2, 3, 5, 1, 0, 4},
@@ -18,16 +18,6 @@ public class Board {
             {2, 1, 5, 0, 4, 3, 6}
     };
 
-//        private static final int[][] NUMBERS = { // example board with solutions for all dice combinations
-//            {2,0,5,1,6,3,4},
-//            {1,5,4,3,0,6,2},
-//            {4,6,0,2,3,1,5},
-//            {3,4,2,6,5,0,1},
-//            {5,3,6,4,1,2,0},
-//            {0,1,3,5,2,4,6},
-//            {6,2,1,0,4,5,3},
-//    };
-
     public static final int DIM = NUMBERS.length; // on normal board = 7
 
 
@@ -44,13 +34,13 @@ public class Board {
         allPieces.forEach(piece -> piece.setBoard(this));
     }
 
-    public void addFixedDice(Dice dice, Field field) {
+    public void addFixedDice(FixedDice dice, Field field) {
         dice.setFixedField(field.getPosition());
         field.setFixedDice(dice);
         fixedFields.add(field);
     }
 
-    public void removeFixedDice(Dice dice, Field field, boolean remove) {
+    public void removeFixedDice(FixedDice dice, Field field, boolean remove) {
         dice.setFixedField(null);
         field.setFixedDice(null);
         if(remove) {
@@ -66,8 +56,16 @@ public class Board {
         return allFields.stream().filter(field -> !field.isOccupied());
     }
 
+    public static int[][] getNumbers() {
+        int[][] numbers = new int[DIM][];
+        for (int row = 0; row < DIM; row++) {
+            numbers[row] = NUMBERS[row].clone();
+        }
+        return numbers;
+    }
+
     public static boolean isOutOfBounds(int row, int column) {
-        return row < 0 || row > 6 || column < 0 || column > 6;
+        return row < 0 || row >= DIM || column < 0 || column >= DIM;
     }
 
     public int[] countVisibleDiceNumbers() {
@@ -0,0 +1,163 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+// the numbers of one board edition and everything derived from them, each computed once on first use,
+// so requests for several editions can be served side by side from the same process
+public class BoardLayout {
+
+    private final String name;
+    private final int[][] numbers;
+    private final Path solutionDirectory; // null: solution databases are kept in memory only
+
+    private volatile PlacementTable placementTable;
+    private final Map<String, SolverEngine> engines = new ConcurrentHashMap<>();
+    private final Map<String, long[]> solutionDatabase = new ConcurrentHashMap<>(); // sorted sort keys of the empty board per roll
+
+    public BoardLayout(String name, int[][] numbers, Path solutionDirectory) {
+        if (numbers.length != Board.DIM || Arrays.stream(numbers).anyMatch(row -> row.length != Board.DIM)) {
+            throw new IllegalArgumentException("Layout " + name + " is not " + Board.DIM + "x" + Board.DIM);
+        }
+        if (Arrays.stream(numbers).flatMapToInt(Arrays::stream).anyMatch(number -> number < 0 || number >= Board.DIM)) {
+            throw new IllegalArgumentException("Layout " + name + " has numbers outside of 0.." + (Board.DIM - 1));
+        }
+        this.name = name;
+        this.numbers = numbers;
+        this.solutionDirectory = solutionDirectory;
+    }
+
+    public static BoardLayout parse(String name, List<String> lines, Path solutionDirectory) { // one row of numbers per line
+        int[][] numbers = lines.stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(line -> Arrays.stream(line.split("\\s+")).mapToInt(Integer::parseInt).toArray())
+                .toArray(int[][]::new);
+        return new BoardLayout(name, numbers, solutionDirectory);
+    }
+
+    public PlacementTable getPlacementTable() {
+        PlacementTable table = placementTable;
+        if (table == null) {
+            synchronized (this) {
+                table = placementTable;
+                if (table == null) {
+                    table = Arrays.deepEquals(numbers, Board.getNumbers())
+                            ? PlacementTable.DEFAULT // generated at build time
+                            : PlacementTable.forLayout(numbers);
+                    placementTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    public long getNumberFields(int diceNumber) { // where a dice with this number can stay uncovered
+        return getPlacementTable().getNumberMask(diceNumber);
+    }
+
+    public SolverEngine getEngine(String engineName) { // engines keep their per-table setup, e.g. the anchored placements
+        return engines.computeIfAbsent(engineName, engine -> SolverEngine.create(engine, getPlacementTable()));
+    }
+
+    // every solution of the roll on the empty board, solved once and then served from memory or the solution directory
+    public SolutionList getSolutions(List<Integer> diceNumbers) {
+        return toSolutionList(getSolutionDatabase(diceNumbers), 0, sortKey -> true);
+    }
+
+    // the solutions on a board with placed pieces and fixed dice, filtered from the roll's solutions on the empty board
+    public SolutionList getSolutions(BoardSnapshot board, List<Integer> diceNumbers) {
+        PlacementTable table = getPlacementTable();
+        long fixedDiceFields = board.getFixedDiceFields();
+        return toSolutionList(getSolutionDatabase(diceNumbers), fixedDiceFields, sortKey -> {
+            if ((table.getPieceFieldsOfSortKey(sortKey) & fixedDiceFields) != 0) {
+                return false;
+            }
+            for (int id = 0; id < table.getNumPieces(); id++) {
+                if (board.isPlaced(id) && table.getPlacementOfSortKey(sortKey, id) != board.getPlacement(id)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static SolutionList toSolutionList(long[] sortKeys, long fixedDiceFields, LongPredicate filter) {
+        SolutionList solutions = new SolutionList(fixedDiceFields);
+        for (long sortKey : sortKeys) {
+            if (filter.test(sortKey)) {
+                solutions.addSortKey(sortKey); // already sorted
+            }
+        }
+        return solutions;
+    }
+
+    private long[] getSolutionDatabase(List<Integer> diceNumbers) {
+        String roll = diceNumbers.stream().sorted().map(String::valueOf).collect(Collectors.joining());
+        return solutionDatabase.computeIfAbsent(roll, key -> {
+            Path file = solutionDirectory == null ? null : solutionDirectory.resolve(name).resolve(key + ".keys");
+            try {
+                if (file != null && Files.exists(file)) {
+                    return readSortKeys(file);
+                }
+                long[] sortKeys = getEngine(SolverEngine.MEET_IN_THE_MIDDLE) // the fastest full enumeration
+                        .solve(BoardSnapshot.of(new Board()), diceNumbers, List.of())
+                        .toSortKeyArray();
+                if (file != null) {
+                    writeSortKeys(file, sortKeys);
+                }
+                return sortKeys;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static long[] readSortKeys(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long[] sortKeys = new long[in.readInt()];
+            for (int i = 0; i < sortKeys.length; i++) {
+                sortKeys[i] = in.readLong();
+            }
+            return sortKeys;
+        }
+    }
+
+    private static void writeSortKeys(Path file, long[] sortKeys) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path partFile = file.resolveSibling(file.getFileName() + ".part"); // readers never see a half written database
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partFile)))) {
+            out.writeInt(sortKeys.length);
+            for (long sortKey : sortKeys) {
+                out.writeLong(sortKey);
+            }
+        }
+        Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int[][] getNumbers() {
+        return Arrays.stream(numbers).map(int[]::clone).toArray(int[][]::new);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,158 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public final class BoardSnapshot {
+
+    private static final short NOT_PLACED = -1;
+
+    private final long pieceFields;
+    private final long fixedDiceFields;
+    private final short[] placements; // placement index in the PlacementTable per piece id
+
+    private BoardSnapshot(long pieceFields, long fixedDiceFields, short[] placements) {
+        this.pieceFields = pieceFields;
+        this.fixedDiceFields = fixedDiceFields;
+        this.placements = placements;
+    }
+
+    public static BoardSnapshot of(Board board) {
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        short[] placements = new short[PieceCollection.NUM_PIECES];
+        Arrays.fill(placements, NOT_PLACED);
+        long pieceFields = 0;
+        for (Piece piece : board.getPiecesOnBoard()) {
+            int placement = placementTable.getPlacement(piece.getId(), piece.getOrientationIndex(),
+                    piece.getRowOffsetOnBoard(), piece.getColumnOffsetOnBoard());
+            placements[piece.getId()] = (short) placement;
+            pieceFields |= placementTable.getMask(piece.getId(), placement);
+        }
+
+        long fixedDiceFields = 0;
+        for (Field field : board.getFixedFields()) {
+            fixedDiceFields |= BitBoard.fieldBit(field.getRow(), field.getColumn());
+        }
+        return new BoardSnapshot(pieceFields, fixedDiceFields, placements);
+    }
+
+    public BoardSnapshot withPlacement(int pieceId, int placement) {
+        short[] newPlacements = Arrays.copyOf(placements, placements.length);
+        newPlacements[pieceId] = (short) placement;
+        return new BoardSnapshot(pieceFields | PlacementTable.DEFAULT.getMask(pieceId, placement), fixedDiceFields, newPlacements);
+    }
+
+    public BoardSnapshot withFixedDiceFields(long fixedDiceFields) {
+        return new BoardSnapshot(pieceFields, fixedDiceFields, placements);
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(fixedDiceFields);
+        out.writeInt(placements.length);
+        for (short placement : placements) {
+            out.writeShort(placement);
+        }
+    }
+
+    public static BoardSnapshot read(DataInputStream in) throws IOException {
+        long fixedDiceFields = in.readLong();
+        short[] placements = new short[in.readInt()];
+        long pieceFields = 0;
+        for (int id = 0; id < placements.length; id++) {
+            placements[id] = in.readShort();
+            if (placements[id] != NOT_PLACED) {
+                pieceFields |= PlacementTable.DEFAULT.getMask(id, placements[id]);
+            }
+        }
+        return new BoardSnapshot(pieceFields, fixedDiceFields, placements);
+    }
+
+    public static BoardSnapshot ofSortKey(long sortKey, long fixedDiceFields) {
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        short[] placements = new short[placementTable.getNumPieces()];
+        long pieceFields = 0;
+        for (int id = 0; id < placements.length; id++) {
+            int placement = placementTable.getPlacementOfSortKey(sortKey, id);
+            placements[id] = (short) placement;
+            pieceFields |= placementTable.getMask(id, placement);
+        }
+        return new BoardSnapshot(pieceFields, fixedDiceFields, placements);
+    }
+
+    public long getSortKey() {
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        long sortKey = 0;
+        for (int id = 0; id < placements.length; id++) {
+            if (placements[id] != NOT_PLACED) {
+                sortKey += placementTable.getSortKey(id, placements[id]);
+            }
+        }
+        return sortKey;
+    }
+
+    public Board toBoard() {
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        Board board = new Board();
+        for (Piece piece : board.getAllPieces()) {
+            int placement = placements[piece.getId()];
+            if (placement != NOT_PLACED) {
+                board.placePieceOnBoard(piece, piece.getOrientations()[placementTable.getOrientationIndex(piece.getId(), placement)],
+                        placementTable.getRowOffset(piece.getId(), placement), placementTable.getColumnOffset(piece.getId(), placement));
+            }
+        }
+        return board;
+    }
+
+    public long getPieceFields() {
+        return pieceFields;
+    }
+
+    public long getFixedDiceFields() {
+        return fixedDiceFields;
+    }
+
+    public long getOccupiedFields() {
+        return pieceFields | fixedDiceFields;
+    }
+
+    public boolean isOccupied(int row, int column) {
+        return (getOccupiedFields() & BitBoard.fieldBit(row, column)) != 0;
+    }
+
+    public boolean isPlaced(int pieceId) {
+        return placements[pieceId] != NOT_PLACED;
+    }
+
+    public int getPlacement(int pieceId) {
+        return placements[pieceId];
+    }
+
+    public int getNumPiecesOnBoard() {
+        int numPiecesOnBoard = 0;
+        for (short placement : placements) {
+            if (placement != NOT_PLACED) {
+                numPiecesOnBoard++;
+            }
+        }
+        return numPiecesOnBoard;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof BoardSnapshot other)) return false;
+
+        return fixedDiceFields == other.fixedDiceFields && Arrays.equals(placements, other.placements);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(fixedDiceFields) + Arrays.hashCode(placements);
+    }
+}
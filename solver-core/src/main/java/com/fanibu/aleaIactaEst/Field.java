@@ -9,7 +9,7 @@ public class Field {
 
     private final String id;
 
-    private Dice fixedDice;
+    private FixedDice fixedDice;
 
     public Field(int row, int column, int number) {
         this.number = number;
@@ -17,15 +17,6 @@ public class Field {
         id = String.valueOf(row * Board.DIM + column);
     }
 
-    public int getTopLeftCornerXCoordinate() {
-        return position.column() * MainFrame.FIELD_SIZE;
-    }
-
-    public int getTopLeftCornerYCoordinate() {
-        return position.row() * MainFrame.FIELD_SIZE;
-    }
-
-
     public boolean isOccupiedByPiece() {
         return occupationPiece != null;
     }
@@ -66,11 +57,11 @@ public class Field {
         return fixedDice != null;
     }
 
-    public void setFixedDice(Dice fixedDice) {
+    public void setFixedDice(FixedDice fixedDice) {
         this.fixedDice = fixedDice;
     }
 
-    public Dice getFixedDice() {
+    public FixedDice getFixedDice() {
         return fixedDice;
     }
 
@@ -0,0 +1,6 @@
+package com.fanibu.aleaIactaEst;
+
+public interface FixedDice { // whatever represents a dice fixed on a field, e.g. the dice control of the UI
+
+    void setFixedField(FieldPosition fieldPosition);
+}
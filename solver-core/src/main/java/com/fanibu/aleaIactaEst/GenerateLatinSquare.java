@@ -1,6 +1,8 @@
 package com.fanibu.aleaIactaEst;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 
@@ -70,10 +72,32 @@ public class GenerateLatinSquare {
     }
 
     public static void printSquare(int[][] square) {
-        for (int[] row : square) {
-            System.out.println("{" + Arrays.stream(row).mapToObj(String::valueOf).collect(Collectors.joining(",")) + "},");
+        System.out.println(formatSquare(square));
+    }
+
+    public static String formatSquare(int[][] square) {
+        return Arrays.stream(square)
+                .map(row -> "{" + Arrays.stream(row).mapToObj(String::valueOf).collect(Collectors.joining(",")) + "},")
+                .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+    }
+
+    public static List<int[][]> parseSquares(List<String> lines, int n) { // reads squares in the format of formatSquare
+        List<int[][]> squares = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (!trimmed.startsWith("{")) {
+                continue;
+            }
+            rows.add(Arrays.stream(trimmed.replaceAll("[{},\\s]+", " ").trim().split(" "))
+                    .mapToInt(Integer::parseInt)
+                    .toArray());
+            if (rows.size() == n) {
+                squares.add(rows.toArray(int[][]::new));
+                rows.clear();
+            }
         }
-        System.out.println();
+        return squares;
     }
 
 }
@@ -0,0 +1,244 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// estimates per hint candidate how many solutions contain it, without enumerating all of them:
+// every sample places the first pieces randomly and then searches the remaining subtree exhaustively,
+// its solutions weighted by the inverse probability of the random prefix (Knuth's estimator applied to solutions)
+public class HintSampler {
+
+    private static final int RANDOM_PREFIX_PIECES = 3; // deeper prefixes give cheaper samples with a higher variance
+    private static final int MIN_SAMPLES_FOR_CONFIDENCE = 2;
+    private static final double SELECTION_Z = 1;
+
+    private final Random random;
+
+    private PlacementTable placementTable = PlacementTable.DEFAULT;
+
+    public HintSampler(long seed) {
+        random = new Random(seed);
+    }
+
+    public void setPlacementTable(PlacementTable placementTable) {
+        this.placementTable = placementTable;
+    }
+
+    // the placement of a piece that is not on the board yet contained in the most solutions
+    public Optional<SampledHint<PiecePlacement>> samplePieceHint(BoardSnapshot board, List<Integer> diceNumbers,
+                                                                 List<Integer> fixedDiceNumbers, long budgetMillis) {
+        int numPieces = placementTable.getNumPieces();
+        int[] firstCandidate = new int[numPieces + 1]; // candidates are the placements of all pieces not on the board
+        for (int id = 0; id < numPieces; id++) {
+            firstCandidate[id + 1] = firstCandidate[id] + (board.isPlaced(id) ? 0 : placementTable.getNumPlacements(id));
+        }
+
+        Estimates estimates = sample(board, diceNumbers, fixedDiceNumbers, budgetMillis, firstCandidate[numPieces],
+                (sortKey, solutionCounts) -> {
+                    for (int id = 0; id < numPieces; id++) {
+                        if (!board.isPlaced(id)) {
+                            solutionCounts[firstCandidate[id] + placementTable.getPlacementOfSortKey(sortKey, id)]++;
+                        }
+                    }
+                });
+        return estimates.best(candidate -> {
+            int id = 0;
+            while (firstCandidate[id + 1] <= candidate) {
+                id++;
+            }
+            return new PiecePlacement(id, candidate - firstCandidate[id]);
+        });
+    }
+
+    // the field of candidateFields that stays free in the most solutions, as field index
+    public Optional<SampledHint<Integer>> sampleDiceHint(BoardSnapshot board, List<Integer> diceNumbers,
+                                                         List<Integer> fixedDiceNumbers, long candidateFields, long budgetMillis) {
+        Estimates estimates = sample(board, diceNumbers, fixedDiceNumbers, budgetMillis, BitBoard.NUM_FIELDS,
+                (sortKey, solutionCounts) -> {
+                    long freeFields = candidateFields & ~placementTable.getPieceFieldsOfSortKey(sortKey);
+                    while (freeFields != 0) {
+                        solutionCounts[Long.numberOfTrailingZeros(freeFields)]++;
+                        freeFields &= freeFields - 1;
+                    }
+                });
+        return estimates.best(candidate -> candidate);
+    }
+
+    // a subtree search can take far longer than the budget, so the running one is stopped at the deadline and dropped
+    private Estimates sample(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers,
+                             long budgetMillis, int numCandidates, CandidateCounter candidateCounter) {
+        AtomicBoolean cancellation = new AtomicBoolean();
+        AtomicReference<Solver> runningSolver = new AtomicReference<>();
+        ScheduledExecutorService deadline = Executors.newSingleThreadScheduledExecutor();
+        deadline.schedule(() -> {
+            cancellation.set(true); // a solver started after this does not search at all
+            Solver solver = runningSolver.get();
+            if (solver != null) {
+                solver.stop();
+            }
+        }, budgetMillis, TimeUnit.MILLISECONDS);
+        try {
+            return sample(board, diceNumbers, fixedDiceNumbers, numCandidates, candidateCounter, cancellation, runningSolver);
+        } finally {
+            deadline.shutdownNow();
+        }
+    }
+
+    private Estimates sample(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers, int numCandidates,
+                             CandidateCounter candidateCounter, AtomicBoolean cancellation, AtomicReference<Solver> runningSolver) {
+        int[] pieceOrder = Solver.createPieceOrder(board);
+        int prefixPieces = Math.min(RANDOM_PREFIX_PIECES, pieceOrder.length);
+        long solutionDiceNumbers = PackedDiceNumbers.pack(Solver.countSolutionDiceNumbers(diceNumbers));
+        long initialVisibleDiceNumbers = placementTable.countDiceNumbers(~board.getPieceFields() & BitBoard.ALL_FIELDS);
+
+        Estimates estimates = new Estimates(numCandidates, prefixPieces == 0);
+        int[] fittingPlacements = new int[Arrays.stream(pieceOrder).map(placementTable::getNumPlacements).max().orElse(0)];
+        int[] solutionCounts = new int[numCandidates];
+        do {
+            BoardSnapshot subtreeRoot = board;
+            long occupiedFields = board.getOccupiedFields();
+            long visibleDiceNumbers = initialVisibleDiceNumbers;
+            double weight = 1;
+            for (int depth = 0; depth < prefixPieces && weight > 0; depth++) {
+                int piece = pieceOrder[depth];
+                long[] masks = placementTable.getMasks(piece);
+                long[] placementDiceNumbers = placementTable.getDiceNumbers(piece);
+                int numFitting = 0;
+                for (int placement = 0; placement < masks.length; placement++) {
+                    if ((masks[placement] & occupiedFields) == 0
+                            && PackedDiceNumbers.containsAll(visibleDiceNumbers - placementDiceNumbers[placement], solutionDiceNumbers)) {
+                        fittingPlacements[numFitting++] = placement;
+                    }
+                }
+                weight *= numFitting; // a dead end is a sample without solutions
+
+                if (numFitting > 0) {
+                    int placement = fittingPlacements[random.nextInt(numFitting)];
+                    occupiedFields |= masks[placement];
+                    visibleDiceNumbers -= placementDiceNumbers[placement];
+                    subtreeRoot = subtreeRoot.withPlacement(piece, placement);
+                }
+            }
+
+            Arrays.fill(solutionCounts, 0);
+            int numSolutions = 0;
+            if (weight > 0) {
+                Solver solver = new Solver(null, false, 1);
+                solver.setPlacementTable(placementTable);
+                solver.setPrintStatistics(false);
+                solver.setCancellation(cancellation);
+                runningSolver.set(solver);
+                solver.solve(subtreeRoot, diceNumbers, fixedDiceNumbers);
+                if (cancellation.get()) { // the subtree may not have been searched completely
+                    break;
+                }
+                for (long sortKey : solver.getSolutions().toSortKeyArray()) {
+                    candidateCounter.count(sortKey, solutionCounts);
+                    numSolutions++;
+                }
+            }
+            estimates.add(weight, numSolutions, solutionCounts);
+        } while (prefixPieces > 0 && !cancellation.get()); // without a random prefix the only sample is exact
+        return estimates;
+    }
+
+    // standard normal distribution function after Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private interface CandidateCounter {
+        void count(long sortKey, int[] solutionCounts);
+    }
+
+    private interface CandidateMapping<T> {
+        T toHint(int candidate);
+    }
+
+    private static final class Estimates {
+        private final double[] sums;
+        private final double[] sumsOfSquares;
+        private final boolean exact;
+        private double totalSum;
+        private int samples;
+
+        private Estimates(int numCandidates, boolean exact) {
+            sums = new double[numCandidates];
+            sumsOfSquares = new double[numCandidates];
+            this.exact = exact;
+        }
+
+        private void add(double weight, int numSolutions, int[] solutionCounts) {
+            samples++;
+            totalSum += weight * numSolutions;
+            for (int candidate = 0; candidate < solutionCounts.length; candidate++) {
+                double solutions = weight * solutionCounts[candidate];
+                sums[candidate] += solutions;
+                sumsOfSquares[candidate] += solutions * solutions;
+            }
+        }
+
+        private double mean(int candidate) {
+            return sums[candidate] / samples;
+        }
+
+        private double lowerBound(int candidate) {
+            return samples < MIN_SAMPLES_FOR_CONFIDENCE ? mean(candidate) : mean(candidate) - SELECTION_Z * Math.sqrt(varianceOfMean(candidate));
+        }
+
+        private double varianceOfMean(int candidate) {
+            double mean = mean(candidate);
+            return Math.max(0, sumsOfSquares[candidate] / samples - mean * mean) / (samples - 1);
+        }
+
+        // estimates of rarely sampled candidates are the noisiest, so the hint is the one with the highest lower bound;
+        // every candidate with a sampled solution is part of a solution, so the hint itself is always valid,
+        // the confidence is the probability that it also beats the runner-up
+        private <T> Optional<SampledHint<T>> best(CandidateMapping<T> mapping) {
+            int best = -1;
+            for (int candidate = 0; candidate < sums.length; candidate++) {
+                if (sums[candidate] > 0 && (best < 0 || lowerBound(candidate) > lowerBound(best))) {
+                    best = candidate;
+                }
+            }
+            if (best < 0) {
+                return Optional.empty();
+            }
+            int runnerUp = -1;
+            for (int candidate = 0; candidate < sums.length; candidate++) {
+                if (candidate != best && (runnerUp < 0 || sums[candidate] > sums[runnerUp])) {
+                    runnerUp = candidate;
+                }
+            }
+
+            double confidence;
+            if (exact || runnerUp < 0) {
+                confidence = 1;
+            } else if (samples < MIN_SAMPLES_FOR_CONFIDENCE) {
+                confidence = 0;
+            } else {
+                double difference = mean(best) - mean(runnerUp);
+                double standardError = Math.sqrt(varianceOfMean(best) + varianceOfMean(runnerUp));
+                confidence = standardError == 0 ? (difference > 0 ? 1 : 0.5) : normalCdf(difference / standardError);
+            }
+            return Optional.of(new SampledHint<>(mapping.toHint(best), mean(best), sums[best] / totalSum, confidence, samples));
+        }
+    }
+
+    public record PiecePlacement(int pieceId, int placement) {
+    }
+
+    public record SampledHint<T>(T hint, double estimatedSolutions, double estimatedShare, double confidence, int samples) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// named board layouts, each a text file with one row of numbers per line, the name is the file name without .txt
+public class LayoutRegistry {
+
+    public static final String DEFAULT_LAYOUT = "original"; // the numbers of Board
+    private static final List<String> BUILT_IN_LAYOUTS = List.of(DEFAULT_LAYOUT, "all-rolls");
+    private static final String LAYOUT_EXTENSION = ".txt";
+
+    private final Map<String, BoardLayout> layouts = new ConcurrentHashMap<>();
+    private final Path solutionDirectory;
+
+    public LayoutRegistry(Path solutionDirectory) { // null keeps the solution databases in memory only
+        this.solutionDirectory = solutionDirectory;
+    }
+
+    public static LayoutRegistry withBuiltInLayouts(Path solutionDirectory) throws IOException {
+        LayoutRegistry registry = new LayoutRegistry(solutionDirectory);
+        for (String name : BUILT_IN_LAYOUTS) {
+            String resource = "layouts/" + name + LAYOUT_EXTENSION;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
+                    LayoutRegistry.class.getClassLoader().getResourceAsStream(resource), resource), StandardCharsets.UTF_8))) {
+                registry.register(BoardLayout.parse(name, reader.lines().toList(), solutionDirectory));
+            }
+        }
+        return registry;
+    }
+
+    public void loadDirectory(Path directory) throws IOException { // replaces built-in layouts of the same name
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + LAYOUT_EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - LAYOUT_EXTENSION.length());
+                register(BoardLayout.parse(name, Files.readAllLines(file), solutionDirectory));
+            }
+        }
+    }
+
+    public void register(BoardLayout layout) {
+        layouts.put(layout.getName(), layout);
+    }
+
+    public BoardLayout get(String name) {
+        BoardLayout layout = layouts.get(name);
+        if (layout == null) {
+            throw new IllegalArgumentException("Unknown layout: " + name + ", known: " + getNames());
+        }
+        return layout;
+    }
+
+    public BoardLayout getDefault() {
+        return get(DEFAULT_LAYOUT);
+    }
+
+    public Set<String> getNames() {
+        return new TreeSet<>(layouts.keySet());
+    }
+}
@@ -0,0 +1,159 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LayoutSearch {
+
+    private static final int PROGRESS_INTERVAL = 10;
+
+    private final List<List<Integer>> rolls = new SolutionChecker().getRolls();
+    private final BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+
+    // failing roll (in canonical labels) of every layout evaluated so far, keyed by canonical layout
+    private final Map<String, Optional<List<Integer>>> evaluatedLayouts = new HashMap<>();
+
+    private final ForkJoinPool pool;
+    private final Random random;
+
+    private final Path profileFile;
+    private final RollDifficultyProfile profile;
+
+    private long evaluatedCandidates;
+    private long acceptedLayouts;
+    private long equivalentCandidates;
+
+    public LayoutSearch(int numThreads, long seed, Path profileFile) throws IOException {
+        pool = new ForkJoinPool(numThreads);
+        random = new Random(seed);
+        this.profileFile = profileFile;
+        profile = RollDifficultyProfile.load(profileFile);
+    }
+
+    public void run(long numCandidates, Path resultFile) throws IOException {
+        long startTime = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(resultFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (long i = 0; i < numCandidates; i++) {
+                int[][] numbers = GenerateLatinSquare.generateRandomLatinSquare(Board.DIM, random);
+                LayoutSymmetry.CanonicalLayout layout = LayoutSymmetry.canonicalize(numbers);
+                evaluatedCandidates++;
+
+                Optional<List<Integer>> unsolvableRoll = evaluatedLayouts.get(layout.key());
+                if (unsolvableRoll != null) { // rotated or relabeled version of a layout that was already evaluated
+                    equivalentCandidates++;
+                    continue;
+                }
+                unsolvableRoll = findUnsolvableRoll(layout);
+                evaluatedLayouts.put(layout.key(), unsolvableRoll);
+
+                if (unsolvableRoll.isEmpty()) {
+                    acceptedLayouts++;
+                    writer.write("// layout with solutions for all rolls (candidate " + evaluatedCandidates + ")");
+                    writer.newLine();
+                    writer.write(GenerateLatinSquare.formatSquare(layout.numbers()));
+                    writer.newLine();
+                    writer.flush();
+                    System.out.println("Candidate " + evaluatedCandidates + " accepted");
+                }
+                if ((unsolvableRoll.isPresent() && evaluatedCandidates % PROGRESS_INTERVAL == 0)
+                        || evaluatedCandidates == numCandidates) {
+                    printThroughput(startTime);
+                    profile.save(profileFile);
+                }
+            }
+        } finally {
+            profile.save(profileFile);
+            pool.shutdownNow();
+        }
+    }
+
+    public Optional<List<Integer>> findUnsolvableRoll(int[][] numbers) {
+        LayoutSymmetry.CanonicalLayout layout = LayoutSymmetry.canonicalize(numbers);
+        return findUnsolvableRoll(layout).map(layout::toOriginalRoll);
+    }
+
+    private Optional<List<Integer>> findUnsolvableRoll(LayoutSymmetry.CanonicalLayout layout) {
+        PlacementTable placementTable = PlacementTable.forLayout(layout.numbers());
+        List<int[]> automorphisms = layout.automorphisms();
+        List<List<Integer>> orderedRolls = profile.order(rolls);
+        AtomicInteger nextRoll = new AtomicInteger();
+        Set<List<Integer>> solvableRolls = ConcurrentHashMap.newKeySet();
+        AtomicReference<List<Integer>> unsolvableRoll = new AtomicReference<>();
+        Set<Solver> runningSolvers = ConcurrentHashMap.newKeySet();
+        AtomicBoolean cancellation = new AtomicBoolean(); // a solver stopped before it starts would search anyway
+
+        // every thread takes the hardest roll not evaluated yet, so bad layouts fail within the first few solves
+        Callable<Void> evaluateRolls = () -> {
+            int rollIndex;
+            while (unsolvableRoll.get() == null && (rollIndex = nextRoll.getAndIncrement()) < orderedRolls.size()) {
+                List<Integer> roll = orderedRolls.get(rollIndex);
+                if (solvableRolls.contains(roll)) {
+                    continue;
+                }
+                Solver solver = new Solver(null, true, 1);
+                solver.setPlacementTable(placementTable);
+                solver.setPrintStatistics(false);
+                solver.setCancellation(cancellation);
+                runningSolvers.add(solver);
+                solver.solve(emptyBoard, roll, List.of());
+                runningSolvers.remove(solver);
+
+                // solvers stopped because of another roll end without solutions as well, only the first failure counts
+                if (!solver.getSolutions().isEmpty()) {
+                    profile.record(roll, true, solver.getVisitedNodes());
+                    automorphisms.forEach(mapping -> solvableRolls.add(LayoutSymmetry.CanonicalLayout.mapRoll(roll, mapping)));
+                } else if (unsolvableRoll.compareAndSet(null, roll)) {
+                    profile.record(roll, false, solver.getVisitedNodes());
+                    cancellation.set(true);
+                    runningSolvers.forEach(Solver::stop); // reject the candidate without finishing the other rolls
+                }
+            }
+            return null;
+        };
+        for (Future<Void> result : pool.invokeAll(Collections.nCopies(pool.getParallelism(), evaluateRolls))) {
+            try {
+                result.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return Optional.ofNullable(unsolvableRoll.get());
+    }
+
+    private void printThroughput(long startTime) {
+        double hours = (System.nanoTime() - startTime) / 3.6e12;
+        System.out.printf("%d candidates evaluated, %d accepted, %d equivalent to earlier ones, %.0f candidates/hour%n",
+                evaluatedCandidates, acceptedLayouts, equivalentCandidates, evaluatedCandidates / hours);
+    }
+
+    public static void main(String[] args) throws IOException { // [candidates] [result file] [threads] [seed] [roll profile file]
+        long numCandidates = args.length > 0 ? Long.parseLong(args[0]) : Long.MAX_VALUE;
+        Path resultFile = Path.of(args.length > 1 ? args[1] : "layouts.txt");
+        int numThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        Path profileFile = Path.of(args.length > 4 ? args[4] : "roll-profile.txt");
+
+        new LayoutSearch(numThreads, seed, profileFile).run(numCandidates, resultFile);
+    }
+}
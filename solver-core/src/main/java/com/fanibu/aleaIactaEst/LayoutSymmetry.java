@@ -0,0 +1,108 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LayoutSymmetry {
+
+    private static final int NUM_ROTATIONS = 4; // piece orientations are closed under 90 degree rotation, but not under mirroring
+
+    public static CanonicalLayout canonicalize(int[][] numbers) {
+        CanonicalLayout canonical = null;
+        int[][] rotated = numbers;
+        for (int rotation = 0; rotation < NUM_ROTATIONS; rotation++) {
+            CanonicalLayout candidate = relabel(rotated, rotation);
+            if (canonical == null || compare(candidate.numbers(), canonical.numbers()) < 0) {
+                canonical = candidate;
+            }
+            rotated = rotate(rotated);
+        }
+        return canonical;
+    }
+
+    // 0 marks the field that stays visible independent of the roll, so only the dice numbers 1..6 are relabeled
+    private static CanonicalLayout relabel(int[][] numbers, int rotation) {
+        int[] symbolMapping = new int[Board.DIM];
+        int nextSymbol = 1;
+        int[][] relabeled = new int[numbers.length][];
+        for (int row = 0; row < numbers.length; row++) {
+            relabeled[row] = new int[numbers[row].length];
+            for (int column = 0; column < numbers[row].length; column++) {
+                int number = numbers[row][column];
+                if (number != 0 && symbolMapping[number] == 0) {
+                    symbolMapping[number] = nextSymbol++;
+                }
+                relabeled[row][column] = symbolMapping[number];
+            }
+        }
+        return new CanonicalLayout(relabeled, rotation, symbolMapping);
+    }
+
+    public static int[][] rotate(int[][] numbers) { // clockwise, like the piece orientations
+        int dim = numbers.length;
+        int[][] rotated = new int[dim][dim];
+        for (int row = 0; row < dim; row++) {
+            for (int column = 0; column < dim; column++) {
+                rotated[column][dim - 1 - row] = numbers[row][column];
+            }
+        }
+        return rotated;
+    }
+
+    private static int compare(int[][] a, int[][] b) {
+        for (int row = 0; row < a.length; row++) {
+            int result = Arrays.compare(a[row], b[row]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    public record CanonicalLayout(int[][] numbers, int rotation, int[] symbolMapping) {
+
+        public String key() {
+            StringBuilder key = new StringBuilder(Board.DIM * Board.DIM);
+            for (int[] row : numbers) {
+                for (int number : row) {
+                    key.append(number);
+                }
+            }
+            return key.toString();
+        }
+
+        public List<Integer> toCanonicalRoll(List<Integer> roll) {
+            return mapRoll(roll, symbolMapping);
+        }
+
+        public List<Integer> toOriginalRoll(List<Integer> canonicalRoll) {
+            int[] inverseMapping = new int[symbolMapping.length];
+            for (int number = 0; number < symbolMapping.length; number++) {
+                inverseMapping[symbolMapping[number]] = number;
+            }
+            return mapRoll(canonicalRoll, inverseMapping);
+        }
+
+        // relabelings that map the canonical layout onto itself, a roll and its image have the same solvability
+        public List<int[]> automorphisms() {
+            List<int[]> automorphisms = new ArrayList<>();
+            int[][] rotated = numbers;
+            for (int rotation = 0; rotation < NUM_ROTATIONS; rotation++) {
+                CanonicalLayout relabeled = relabel(rotated, rotation);
+                if (compare(relabeled.numbers(), numbers) == 0) {
+                    automorphisms.add(relabeled.symbolMapping());
+                }
+                rotated = rotate(rotated);
+            }
+            return automorphisms;
+        }
+
+        public static List<Integer> mapRoll(List<Integer> roll, int[] mapping) {
+            return roll.stream()
+                    .map(number -> mapping[number])
+                    .sorted()
+                    .toList();
+        }
+    }
+}
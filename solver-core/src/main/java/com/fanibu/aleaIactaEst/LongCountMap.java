@@ -0,0 +1,82 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+
+final class LongCountMap { // open addressing hash map from non-negative long keys to counts, without boxing
+
+    private static final long EMPTY = -1;
+
+    private long[] entries; // key and count next to each other, one cache line access per lookup
+    private int size;
+
+    LongCountMap(int expectedSize) {
+        entries = createEntries(Integer.highestOneBit(Math.max(16, 2 * expectedSize) - 1) << 1);
+    }
+
+    void add(long key, long count) {
+        int mask = entries.length / 2 - 1;
+        int slot = hash(key) & mask;
+        while (entries[2 * slot] != EMPTY) {
+            if (entries[2 * slot] == key) {
+                entries[2 * slot + 1] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        entries[2 * slot] = key;
+        entries[2 * slot + 1] = count;
+        if (4 * ++size > entries.length) { // at most half of the slots used
+            resize();
+        }
+    }
+
+    long get(long key) {
+        int mask = entries.length / 2 - 1;
+        int slot = hash(key) & mask;
+        while (entries[2 * slot] != EMPTY) {
+            if (entries[2 * slot] == key) {
+                return entries[2 * slot + 1];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Entry entry) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] != EMPTY) {
+                entry.accept(entries[i], entries[i + 1]);
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldEntries = entries;
+        entries = createEntries(oldEntries.length);
+        size = 0;
+        for (int i = 0; i < oldEntries.length; i += 2) {
+            if (oldEntries[i] != EMPTY) {
+                add(oldEntries[i], oldEntries[i + 1]);
+            }
+        }
+    }
+
+    private static long[] createEntries(int capacity) {
+        long[] entries = new long[2 * capacity];
+        Arrays.fill(entries, EMPTY);
+        return entries;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    interface Entry {
+        void accept(long key, long count);
+    }
+}
@@ -0,0 +1,322 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// solves by tiling the rows above and below a split row separately: the fields are filled in row-major order, so the
+// top half consists of the pieces starting above the split row, which may reach into the bottom half. Top halves are
+// grouped by the bottom fields they cover, every bottom half is enumerated once per group and joined with all of them
+public class MeetInTheMiddleSolver implements SolverEngine {
+
+    private static final int DEFAULT_SPLIT_ROW = 3;
+
+    private static final int NUMBER_BITS = 3; // uncovered fields per number never exceed the number of dice
+    private static final int NUMBER_MASK = (1 << NUMBER_BITS) - 1;
+    private static final int PIECES_SHIFT = Board.DIM * NUMBER_BITS;
+
+    private final PlacementTable placementTable;
+    private final int splitField;
+    private final long bottomFields;
+
+    private final int[] fieldNumbers = new int[BitBoard.NUM_FIELDS];
+    private final long[] numberFields = new long[Board.DIM];
+
+    private final long[][] anchoredMasks; // per field the masks of all placements starting at it
+    private final int[][] anchoredPieces;
+    private final long[][] anchoredSortKeys;
+
+    public MeetInTheMiddleSolver(PlacementTable placementTable) {
+        this(placementTable, DEFAULT_SPLIT_ROW);
+    }
+
+    public MeetInTheMiddleSolver(PlacementTable placementTable, int splitRow) {
+        if (PIECES_SHIFT + placementTable.getNumPieces() > Integer.SIZE - 1) {
+            throw new IllegalStateException("Half keys do not fit into an int");
+        }
+        this.placementTable = placementTable;
+        splitField = splitRow * Board.DIM;
+        bottomFields = BitBoard.ALL_FIELDS & -(1L << splitField);
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            fieldNumbers[field] = placementTable.getFieldNumber(field);
+            numberFields[fieldNumbers[field]] |= 1L << field;
+        }
+
+        List<List<Integer>> anchored = new ArrayList<>();
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            anchored.add(new ArrayList<>());
+        }
+        List<int[]> placements = new ArrayList<>();
+        for (int id = 0; id < placementTable.getNumPieces(); id++) {
+            for (int placement = 0; placement < placementTable.getNumPlacements(id); placement++) {
+                anchored.get(Long.numberOfTrailingZeros(placementTable.getMask(id, placement))).add(placements.size());
+                placements.add(new int[]{id, placement});
+            }
+        }
+        anchoredMasks = new long[BitBoard.NUM_FIELDS][];
+        anchoredPieces = new int[BitBoard.NUM_FIELDS][];
+        anchoredSortKeys = new long[BitBoard.NUM_FIELDS][];
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            int[][] fieldPlacements = anchored.get(field).stream().map(placements::get).toArray(int[][]::new);
+            anchoredMasks[field] = Arrays.stream(fieldPlacements).mapToLong(p -> placementTable.getMask(p[0], p[1])).toArray();
+            anchoredPieces[field] = Arrays.stream(fieldPlacements).mapToInt(p -> p[0]).toArray();
+            anchoredSortKeys[field] = Arrays.stream(fieldPlacements).mapToLong(p -> placementTable.getSortKey(p[0], p[1])).toArray();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return MEET_IN_THE_MIDDLE;
+    }
+
+    @Override
+    public SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        return solve(board, diceNumbers); // fixed dice only need their fields, which the board has
+    }
+
+    public SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers) {
+        Search search = new Search(board, Solver.countSolutionDiceNumbers(diceNumbers));
+
+        Map<Long, TopHalves> topHalves = search.enumerateTopHalves();
+        SolutionList solutions = new SolutionList(board.getFixedDiceFields());
+        topHalves.entrySet().parallelStream().forEach(group -> {
+            SortKeys joined = search.join(group.getKey(), group.getValue());
+            for (int i = 0; i < joined.size; i++) {
+                solutions.addSortKey(joined.keys[i]);
+            }
+        });
+        solutions.sort();
+        return solutions;
+    }
+
+    private static int getUncoveredFields(int key, int diceNumber) {
+        return key >>> (diceNumber * NUMBER_BITS) & NUMBER_MASK;
+    }
+
+    private static int uncoveredIncrement(int diceNumber) {
+        return 1 << (diceNumber * NUMBER_BITS);
+    }
+
+    private final class Search {
+
+        private final long pieceFields;
+        private final long fixedDiceFields;
+        private final int initialPieces;
+        private final long initialSortKey;
+        private final int allPieces;
+
+        private final int[] uncoveredFields;
+        private final int solutionNumbers;
+
+        private Search(BoardSnapshot board, int[] uncoveredFields) {
+            pieceFields = board.getPieceFields();
+            fixedDiceFields = board.getFixedDiceFields();
+            int placedPieces = 0;
+            for (int id = 0; id < placementTable.getNumPieces(); id++) {
+                if (board.isPlaced(id)) {
+                    placedPieces |= 1 << id;
+                }
+            }
+            initialPieces = placedPieces;
+            initialSortKey = board.getSortKey();
+            allPieces = (1 << placementTable.getNumPieces()) - 1;
+
+            this.uncoveredFields = uncoveredFields;
+            int numbers = 0;
+            for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+                numbers |= uncoveredFields[diceNumber] << (diceNumber * NUMBER_BITS);
+            }
+            solutionNumbers = numbers;
+        }
+
+        // top halves grouped by the bottom fields they cover, then by their pieces and uncovered numbers;
+        // the choices at the first field are enumerated in parallel
+        private Map<Long, TopHalves> enumerateTopHalves() {
+            int firstField = Long.numberOfTrailingZeros(~(pieceFields | fixedDiceFields));
+            int uncoveredBefore = 0;
+            for (int field = 0; field < Math.min(firstField, splitField); field++) {
+                if ((fixedDiceFields & 1L << field) != 0) {
+                    uncoveredBefore += uncoveredIncrement(fieldNumbers[field]);
+                }
+            }
+            int initialKey = initialPieces << PIECES_SHIFT | uncoveredBefore;
+            if (firstField >= splitField) {
+                Map<Long, TopHalves> topHalves = new HashMap<>();
+                enumerateTop(topHalves, splitField, pieceFields, initialKey, initialSortKey);
+                return topHalves;
+            }
+
+            long[] masks = anchoredMasks[firstField];
+            return IntStream.range(-1, masks.length).parallel() // -1: the first field stays uncovered
+                    .mapToObj(i -> {
+                        Map<Long, TopHalves> topHalves = new HashMap<>();
+                        if (i < 0) {
+                            int number = fieldNumbers[firstField];
+                            if (getUncoveredFields(initialKey, number) < uncoveredFields[number]) {
+                                enumerateTop(topHalves, firstField + 1, pieceFields, initialKey + uncoveredIncrement(number),
+                                        initialSortKey);
+                            }
+                        } else if ((initialKey >>> PIECES_SHIFT & 1 << anchoredPieces[firstField][i]) == 0
+                                && (masks[i] & (pieceFields | fixedDiceFields)) == 0) {
+                            enumerateTop(topHalves, firstField + 1, pieceFields | masks[i],
+                                    initialKey | 1 << (PIECES_SHIFT + anchoredPieces[firstField][i]),
+                                    initialSortKey + anchoredSortKeys[firstField][i]);
+                        }
+                        return topHalves;
+                    })
+                    .reduce(Search::merge)
+                    .orElseGet(HashMap::new);
+        }
+
+        private void enumerateTop(Map<Long, TopHalves> topHalves, int field, long occupiedFields, int key,
+                                  long sortKey) {
+            while (field < splitField && (occupiedFields & 1L << field) != 0) {
+                field++;
+            }
+            if (field == splitField) {
+                topHalves.computeIfAbsent(occupiedFields & bottomFields, signature -> new TopHalves()).add(key, sortKey);
+                return;
+            }
+            if (!canStillMatchNumbers(field, occupiedFields, key)) {
+                return;
+            }
+
+            int number = fieldNumbers[field];
+            if (getUncoveredFields(key, number) < uncoveredFields[number]) {
+                enumerateTop(topHalves, field + 1, occupiedFields, key + uncoveredIncrement(number), sortKey);
+            }
+            if ((fixedDiceFields & 1L << field) != 0) { // a fixed dice keeps its field uncovered
+                return;
+            }
+            long[] masks = anchoredMasks[field];
+            int[] pieces = anchoredPieces[field];
+            long[] sortKeys = anchoredSortKeys[field];
+            for (int i = 0; i < masks.length; i++) {
+                if ((key >>> PIECES_SHIFT & 1 << pieces[i]) == 0 && (masks[i] & (occupiedFields | fixedDiceFields)) == 0) {
+                    enumerateTop(topHalves, field + 1, occupiedFields | masks[i], key | 1 << (PIECES_SHIFT + pieces[i]),
+                            sortKey + sortKeys[i]);
+                }
+            }
+        }
+
+        // every bottom half for the given top signature is enumerated once and combined with all matching top halves
+        private SortKeys join(long signature, TopHalves tops) {
+            int[] maxUncoveredFields = new int[Board.DIM];
+            int availablePieces = 0;
+            for (int t = 0; t < tops.size; t++) {
+                int topKey = tops.keys[t];
+                availablePieces |= allPieces & ~(topKey >>> PIECES_SHIFT);
+                for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+                    maxUncoveredFields[diceNumber] = Math.max(maxUncoveredFields[diceNumber],
+                            uncoveredFields[diceNumber] - getUncoveredFields(topKey, diceNumber));
+                }
+            }
+
+            Map<Integer, SortKeys> bottoms = new HashMap<>();
+            enumerateBottom(bottoms, splitField, signature | pieceFields & bottomFields, 0, 0, availablePieces,
+                    maxUncoveredFields);
+
+            SortKeys joined = new SortKeys();
+            for (int t = 0; t < tops.size; t++) {
+                int topKey = tops.keys[t];
+                int bottomKey = (allPieces & ~(topKey >>> PIECES_SHIFT)) << PIECES_SHIFT
+                        | solutionNumbers - (topKey & ((1 << PIECES_SHIFT) - 1)); // no borrows, tops stay within the roll
+                SortKeys bottomSortKeys = bottoms.get(bottomKey);
+                if (bottomSortKeys == null) {
+                    continue;
+                }
+                for (int i = 0; i < bottomSortKeys.size; i++) {
+                    joined.add(tops.sortKeys[t] + bottomSortKeys.keys[i]);
+                }
+            }
+            return joined;
+        }
+
+        private void enumerateBottom(Map<Integer, SortKeys> bottoms, int field, long occupiedFields, int key, long sortKey,
+                                     int availablePieces, int[] maxUncoveredFields) {
+            while (field < BitBoard.NUM_FIELDS && (occupiedFields & 1L << field) != 0) {
+                field++;
+            }
+            if (field == BitBoard.NUM_FIELDS) {
+                bottoms.computeIfAbsent(key, k -> new SortKeys()).add(sortKey);
+                return;
+            }
+
+            int number = fieldNumbers[field];
+            if (getUncoveredFields(key, number) < maxUncoveredFields[number]) {
+                enumerateBottom(bottoms, field + 1, occupiedFields, key + uncoveredIncrement(number), sortKey,
+                        availablePieces, maxUncoveredFields);
+            }
+            if ((fixedDiceFields & 1L << field) != 0) {
+                return;
+            }
+            long[] masks = anchoredMasks[field];
+            int[] pieces = anchoredPieces[field];
+            long[] sortKeys = anchoredSortKeys[field];
+            for (int i = 0; i < masks.length; i++) {
+                int pieceBit = 1 << pieces[i];
+                if ((availablePieces & pieceBit) != 0 && (key >>> PIECES_SHIFT & pieceBit) == 0
+                        && (masks[i] & (occupiedFields | fixedDiceFields)) == 0) {
+                    enumerateBottom(bottoms, field + 1, occupiedFields | masks[i], key | pieceBit << PIECES_SHIFT,
+                            sortKey + sortKeys[i], availablePieces, maxUncoveredFields);
+                }
+            }
+        }
+
+        // enough free fields from the current one on for every number still missing
+        private boolean canStillMatchNumbers(int field, long occupiedFields, int key) {
+            long freeFields = BitBoard.ALL_FIELDS & -(1L << field) & ~occupiedFields;
+            for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+                if (Long.bitCount(freeFields & numberFields[diceNumber])
+                        < uncoveredFields[diceNumber] - getUncoveredFields(key, diceNumber)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Map<Long, TopHalves> merge(Map<Long, TopHalves> topHalves, Map<Long, TopHalves> otherTopHalves) {
+            otherTopHalves.forEach((signature, tops) -> topHalves.merge(signature, tops, TopHalves::addAll));
+            return topHalves;
+        }
+    }
+
+    private static final class SortKeys { // growable sort key array of the bottom halves sharing a key
+
+        private long[] keys = new long[4];
+        private int size;
+
+        private void add(long sortKey) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[size++] = sortKey;
+        }
+    }
+
+    private static final class TopHalves { // pieces and uncovered numbers with the sort key of every top half of a signature
+
+        private int[] keys = new int[4];
+        private long[] sortKeys = new long[4];
+        private int size;
+
+        private void add(int key, long sortKey) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+                sortKeys = Arrays.copyOf(sortKeys, sortKeys.length * 2);
+            }
+            keys[size] = key;
+            sortKeys[size++] = sortKey;
+        }
+
+        private TopHalves addAll(TopHalves other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.keys[i], other.sortKeys[i]);
+            }
+            return this;
+        }
+    }
+}
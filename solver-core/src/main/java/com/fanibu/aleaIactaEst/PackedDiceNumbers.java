@@ -0,0 +1,39 @@
+package com.fanibu.aleaIactaEst;
+
+public final class PackedDiceNumbers {
+
+    private static final int BITS_PER_NUMBER = 8; // counts stay below 128, so the top bit of each lane can act as borrow guard
+
+    private static final long GUARD_BITS = createGuardBits();
+
+    private PackedDiceNumbers() {
+    }
+
+    public static long pack(int[] diceNumbers) {
+        long packed = 0;
+        for (int diceNumber = 0; diceNumber < diceNumbers.length; diceNumber++) {
+            packed += (long) diceNumbers[diceNumber] << (diceNumber * BITS_PER_NUMBER);
+        }
+        return packed;
+    }
+
+    public static long single(int diceNumber) {
+        return 1L << (diceNumber * BITS_PER_NUMBER);
+    }
+
+    public static int get(long packed, int diceNumber) {
+        return (int) (packed >>> (diceNumber * BITS_PER_NUMBER)) & ((1 << BITS_PER_NUMBER) - 1);
+    }
+
+    public static boolean containsAll(long available, long required) { // every lane of available >= required lane
+        return (((available | GUARD_BITS) - required) & GUARD_BITS) == GUARD_BITS;
+    }
+
+    private static long createGuardBits() {
+        long guardBits = 0;
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            guardBits |= single(diceNumber) << (BITS_PER_NUMBER - 1);
+        }
+        return guardBits;
+    }
+}
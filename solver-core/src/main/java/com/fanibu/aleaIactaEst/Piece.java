@@ -0,0 +1,112 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class Piece {
+
+    private final int numOccupations;
+    private final int minDimension, maxDimension;
+    private final PieceOrientation[] orientations;
+    private final int id;
+
+    private int rowOffsetOnBoard;
+    private int columnOffsetOnBoard;
+    private PieceOrientation orientationOnBoard;
+    private List<Field> occupiedFields;
+
+    private Board board;
+
+    public Piece(int numOccupations, PieceOrientation[] orientations, int id) {
+        this.numOccupations = numOccupations;
+        this.orientations = orientations;
+
+        PieceOrientation orientation = orientations[0];
+        this.minDimension = Math.min(orientation.getHeight(), orientation.getWidth());
+        this.maxDimension = Math.max(orientation.getHeight(), orientation.getWidth());
+        this.id = id;
+    }
+
+    public Piece copy() {
+        return new Piece(numOccupations, orientations, id);
+    }
+
+    public void setBoard(Board board) {
+        this.board = board;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public int getNumOccupations() {
+        return numOccupations;
+    }
+
+    public PieceOrientation[] getOrientations() {
+        return orientations;
+    }
+
+    public List<Field> getOccupiedFields() {
+        return occupiedFields;
+    }
+
+    public void setOccupiedFields(List<Field> occupiedFields) {
+        this.occupiedFields = occupiedFields;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public PieceOrientation getOrientationOnBoard() {
+        return orientationOnBoard;
+    }
+
+    public void setOrientationOnBoard(PieceOrientation orientationOnBoard) {
+        this.orientationOnBoard = orientationOnBoard;
+    }
+
+    public int getRowOffsetOnBoard() {
+        return rowOffsetOnBoard;
+    }
+
+    public void setRowOffsetOnBoard(int rowOffsetOnBoard) {
+        this.rowOffsetOnBoard = rowOffsetOnBoard;
+    }
+
+    public int getColumnOffsetOnBoard() {
+        return columnOffsetOnBoard;
+    }
+
+    public void setColumnOffsetOnBoard(int columnOffsetOnBoard) {
+        this.columnOffsetOnBoard = columnOffsetOnBoard;
+    }
+
+    public int getOrientationIndex() {
+        return Arrays.asList(orientations).indexOf(orientationOnBoard);
+    }
+
+    public int getMinDimension() {
+        return minDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Piece) {
+            return ((Piece) obj).id == id;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+}
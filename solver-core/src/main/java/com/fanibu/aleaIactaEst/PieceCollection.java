@@ -0,0 +1,74 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.List;
+
+public class PieceCollection {
+
+    private static int pieceCounter = 0;
+
+    private static final List<Piece> ALL_PIECES = List.of(
+            // Thunder-Piece
+            createPiece(
+                    new int[]{0, 1, 1, 1, 2},
+                    new int[]{0, 0, 1, 2, 2}
+            ),
+            // small L-piece
+            createPiece(
+                    new int[]{0, 0, 1, 2},
+                    new int[]{0, 1, 1, 1}
+            ),
+            // big L-piece
+            createPiece(
+                    new int[]{0, 1, 1, 1, 1},
+                    new int[]{0, 0, 1, 2, 3}),
+            // W-piece
+            createPiece(
+                    new int[]{2,2,1,1,0},
+                    new int[]{0,1,1,2,2}
+            ),
+            // block-piece
+            createPiece(
+                    new int[]{0,0,0,1,1},
+                    new int[]{0,1,2,1,2}
+            ),
+            // C-piece
+            createPiece(
+                    new int[]{0,1,1,1,0},
+                    new int[]{0,0,1,2,2}
+            ),
+            // chair-piece
+            createPiece(
+                    new int[]{1,1,2,1,0},
+                    new int[]{0,1,1,2,2}
+            ),
+            // stair-piece
+            createPiece(
+                    new int[]{1,1,1,0,0},
+                    new int[]{0,1,2,2,3}
+            ),
+            // straight-piece
+            createPiece(
+                    new int[]{0,0,0},
+                    new int[]{0,1,2}
+            )
+    );
+
+    public static int NUM_PIECES = ALL_PIECES.size();
+
+    public static List<Piece> createPieceInstances() { // plain loops, this runs on every start and every new Board
+        Piece[] pieces = new Piece[ALL_PIECES.size()];
+        for (int i = 0; i < pieces.length; i++) {
+            Piece piece = ALL_PIECES.get(i);
+            pieces[i] = new Piece(piece.getNumOccupations(), piece.getOrientations(), piece.getId());
+        }
+        return List.of(pieces);
+    }
+
+    private static Piece createPiece(int[] rows, int[] columns) { // the orientations are the distinct rotations
+        FieldPosition[] fieldPositions = new FieldPosition[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            fieldPositions[i] = new FieldPosition(rows[i], columns[i]);
+        }
+        return new Piece(fieldPositions.length, PieceOrientation.createOrientations(fieldPositions, false), pieceCounter++);
+    }
+}
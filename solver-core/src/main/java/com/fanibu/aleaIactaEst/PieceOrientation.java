@@ -0,0 +1,97 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class PieceOrientation {
+
+    private final FieldPosition[] positions;
+
+    private final int width;
+
+    private final int height;
+
+    public PieceOrientation(FieldPosition[] positions) {
+        this.positions = positions;
+
+        int maxRow = 0, maxColumn = 0;
+        for (FieldPosition position : positions) {
+            maxRow = Math.max(maxRow, position.row());
+            maxColumn = Math.max(maxColumn, position.column());
+        }
+        width = maxColumn + 1;
+        height = maxRow + 1;
+    }
+
+    public FieldPosition[] getPositions() {
+        return positions;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // the distinct shapes of a piece under clockwise rotation, and mirroring if allowed: rotations first in the
+    // order the solver always used, then the rotations of the mirror image that are no rotation of the piece itself,
+    // so symmetric pieces never produce the same placement twice
+    public static PieceOrientation[] createOrientations(FieldPosition[] positions, boolean mirrored) {
+        List<FieldPosition[]> distinct = new ArrayList<>();
+        List<FieldPosition[]> shapes = new ArrayList<>(); // sorted copies for the comparison, positions keep their order
+        addRotations(normalize(positions), distinct, shapes);
+        if (mirrored) {
+            FieldPosition[] mirror = new FieldPosition[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                mirror[i] = new FieldPosition(positions[i].row(), -positions[i].column());
+            }
+            addRotations(normalize(mirror), distinct, shapes);
+        }
+
+        PieceOrientation[] orientations = new PieceOrientation[distinct.size()];
+        for (int i = 0; i < orientations.length; i++) {
+            orientations[i] = new PieceOrientation(distinct.get(i));
+        }
+        return orientations;
+    }
+
+    private static void addRotations(FieldPosition[] positions, List<FieldPosition[]> distinct, List<FieldPosition[]> shapes) {
+        for (int rotation = 0; rotation < 4; rotation++) {
+            FieldPosition[] shape = positions.clone();
+            Arrays.sort(shape, Comparator.comparingInt(FieldPosition::row).thenComparingInt(FieldPosition::column));
+            boolean known = false;
+            for (FieldPosition[] knownShape : shapes) {
+                known |= Arrays.equals(knownShape, shape);
+            }
+            if (!known) {
+                distinct.add(positions);
+                shapes.add(shape);
+            }
+
+            FieldPosition[] rotated = new FieldPosition[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                rotated[i] = new FieldPosition(positions[i].column(), -positions[i].row());
+            }
+            positions = normalize(rotated);
+        }
+    }
+
+    public static FieldPosition[] normalize(FieldPosition[] positions) { // shifted to row and column 0
+        int minRow = Integer.MAX_VALUE;
+        int minColumn = Integer.MAX_VALUE;
+        for (FieldPosition position : positions) {
+            minRow = Math.min(minRow, position.row());
+            minColumn = Math.min(minColumn, position.column());
+        }
+
+        FieldPosition[] shifted = new FieldPosition[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            shifted[i] = new FieldPosition(positions[i].row() - minRow, positions[i].column() - minColumn);
+        }
+        return shifted;
+    }
+}
@@ -0,0 +1,350 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class PlacementTable {
+
+    public static final String DEFAULT_RESOURCE = "placement-table.bin"; // generated by the build, see PlacementTableGenerator
+
+    public static final PlacementTable DEFAULT = loadDefault();
+
+    private final long[] numberMasks = new long[Board.DIM];
+
+    private final long[][] masks;
+    private final long[][] diceNumbers;
+    private final int[][] orientationIndices;
+    private final int[][] rowOffsets;
+    private final int[][] columnOffsets;
+
+    private final int[][] orientationStarts;
+    private final int[][] orientationColumns;
+
+    private final int[][] sortRanks;
+    private final int[][] rankedPlacements;
+    private final long[] sortKeyWeights;
+    private final long[][] sortKeys;
+
+    private PlacementTable(int[][] numbers, List<Piece> pieces) {
+        for (int row = 0; row < Board.DIM; row++) {
+            for (int column = 0; column < Board.DIM; column++) {
+                numberMasks[numbers[row][column]] |= BitBoard.fieldBit(row, column);
+            }
+        }
+
+        int numPieces = pieces.size();
+        masks = new long[numPieces][];
+        diceNumbers = new long[numPieces][];
+        orientationIndices = new int[numPieces][];
+        rowOffsets = new int[numPieces][];
+        columnOffsets = new int[numPieces][];
+        orientationStarts = new int[numPieces][];
+        orientationColumns = new int[numPieces][];
+        sortRanks = new int[numPieces][];
+        rankedPlacements = new int[numPieces][];
+        sortKeyWeights = new long[numPieces];
+        sortKeys = new long[numPieces][];
+
+        for (Piece piece : pieces) {
+            initPlacements(piece);
+            initRankedPlacements(piece.getId());
+        }
+        initSortKeys();
+    }
+
+    private PlacementTable(DataInputStream in) throws IOException { // the counterpart of write
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            numberMasks[diceNumber] = in.readLong();
+        }
+
+        int numPieces = in.readByte();
+        masks = new long[numPieces][];
+        diceNumbers = new long[numPieces][];
+        orientationIndices = new int[numPieces][];
+        rowOffsets = new int[numPieces][];
+        columnOffsets = new int[numPieces][];
+        orientationStarts = new int[numPieces][];
+        orientationColumns = new int[numPieces][];
+        sortRanks = new int[numPieces][];
+        rankedPlacements = new int[numPieces][];
+        sortKeyWeights = new long[numPieces];
+        sortKeys = new long[numPieces][];
+
+        for (int id = 0; id < numPieces; id++) {
+            int numOrientations = in.readByte();
+            orientationStarts[id] = new int[numOrientations];
+            orientationColumns[id] = new int[numOrientations];
+            for (int i = 0; i < numOrientations; i++) {
+                orientationStarts[id][i] = in.readShort();
+                orientationColumns[id][i] = in.readByte();
+            }
+
+            int numPlacements = in.readShort();
+            masks[id] = new long[numPlacements];
+            diceNumbers[id] = new long[numPlacements];
+            orientationIndices[id] = new int[numPlacements];
+            rowOffsets[id] = new int[numPlacements];
+            columnOffsets[id] = new int[numPlacements];
+            rankedPlacements[id] = new int[numPlacements];
+            for (int placement = 0; placement < numPlacements; placement++) {
+                masks[id][placement] = in.readLong();
+                diceNumbers[id][placement] = in.readLong();
+                orientationIndices[id][placement] = in.readByte();
+                rowOffsets[id][placement] = in.readByte();
+                columnOffsets[id][placement] = in.readByte();
+                rankedPlacements[id][placement] = in.readShort();
+            }
+        }
+        initSortKeys();
+    }
+
+    public static PlacementTable forLayout(int[][] numbers) {
+        return new PlacementTable(numbers, PieceCollection.createPieceInstances());
+    }
+
+    public void write(DataOutputStream out) throws IOException { // everything else is derived in plain loops when reading
+        for (long numberMask : numberMasks) {
+            out.writeLong(numberMask);
+        }
+
+        out.writeByte(masks.length);
+        for (int id = 0; id < masks.length; id++) {
+            out.writeByte(orientationStarts[id].length);
+            for (int i = 0; i < orientationStarts[id].length; i++) {
+                out.writeShort(orientationStarts[id][i]);
+                out.writeByte(orientationColumns[id][i]);
+            }
+
+            out.writeShort(getNumPlacements(id));
+            for (int placement = 0; placement < getNumPlacements(id); placement++) {
+                out.writeLong(masks[id][placement]);
+                out.writeLong(diceNumbers[id][placement]);
+                out.writeByte(orientationIndices[id][placement]);
+                out.writeByte(rowOffsets[id][placement]);
+                out.writeByte(columnOffsets[id][placement]);
+                out.writeShort(rankedPlacements[id][placement]);
+            }
+        }
+    }
+
+    public static PlacementTable read(DataInputStream in) throws IOException {
+        return new PlacementTable(in);
+    }
+
+    private static PlacementTable loadDefault() {
+        int[][] numbers = Board.getNumbers();
+        try (InputStream resource = PlacementTable.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (resource != null) {
+                PlacementTable table = read(new DataInputStream(new BufferedInputStream(resource)));
+                if (table.matches(numbers, PieceCollection.createPieceInstances())) {
+                    return table;
+                }
+            }
+        } catch (IOException e) {
+            // computed below, as when running from sources without the build step
+        }
+        return forLayout(numbers);
+    }
+
+    private boolean matches(int[][] numbers, List<Piece> pieces) { // the resource is stale if the layout or a piece changed
+        for (int row = 0; row < Board.DIM; row++) {
+            for (int column = 0; column < Board.DIM; column++) {
+                if ((numberMasks[numbers[row][column]] & BitBoard.fieldBit(row, column)) == 0) {
+                    return false;
+                }
+            }
+        }
+        if (pieces.size() != masks.length) {
+            return false;
+        }
+        for (Piece piece : pieces) {
+            PieceOrientation[] orientations = piece.getOrientations();
+            int id = piece.getId();
+            if (orientations.length != orientationStarts[id].length) {
+                return false;
+            }
+            for (int i = 0; i < orientations.length; i++) {
+                long mask = 0;
+                for (FieldPosition position : orientations[i].getPositions()) {
+                    mask |= BitBoard.fieldBit(position.row(), position.column());
+                }
+                if (mask != masks[id][getPlacement(id, i, 0, 0)]
+                        || orientationColumns[id][i] != Board.DIM - orientations[i].getWidth() + 1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void initPlacements(Piece piece) {
+        int id = piece.getId();
+        PieceOrientation[] orientations = piece.getOrientations();
+
+        int numPlacements = 0;
+        orientationStarts[id] = new int[orientations.length];
+        orientationColumns[id] = new int[orientations.length];
+        for (int i = 0; i < orientations.length; i++) {
+            orientationStarts[id][i] = numPlacements;
+            orientationColumns[id][i] = Board.DIM - orientations[i].getWidth() + 1;
+            numPlacements += (Board.DIM - orientations[i].getHeight() + 1) * orientationColumns[id][i];
+        }
+
+        masks[id] = new long[numPlacements];
+        diceNumbers[id] = new long[numPlacements];
+        orientationIndices[id] = new int[numPlacements];
+        rowOffsets[id] = new int[numPlacements];
+        columnOffsets[id] = new int[numPlacements];
+
+        int placement = 0;
+        for (int i = 0; i < orientations.length; i++) { // same order in which the solver used to try the placements
+            PieceOrientation orientation = orientations[i];
+            for (int rowOffset = 0; rowOffset <= Board.DIM - orientation.getHeight(); rowOffset++) {
+                for (int columnOffset = 0; columnOffset <= Board.DIM - orientation.getWidth(); columnOffset++) {
+                    long mask = 0;
+                    for (FieldPosition position : orientation.getPositions()) {
+                        mask |= BitBoard.fieldBit(position.row() + rowOffset, position.column() + columnOffset);
+                    }
+                    masks[id][placement] = mask;
+                    diceNumbers[id][placement] = countDiceNumbers(mask);
+                    orientationIndices[id][placement] = i;
+                    rowOffsets[id][placement] = rowOffset;
+                    columnOffsets[id][placement] = columnOffset;
+                    placement++;
+                }
+            }
+        }
+    }
+
+    private void initRankedPlacements(int id) {
+        rankedPlacements[id] = IntStream.range(0, getNumPlacements(id)).boxed()
+                .sorted(Comparator.comparingInt(placement -> getSolutionOrderValue(id, placement)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private int getSolutionOrderValue(int id, int placement) {
+        int rowOffset = rowOffsets[id][placement];
+        int columnOffset = rowOffset % 2 == 0
+                ? columnOffsets[id][placement]
+                : Board.DIM - columnOffsets[id][placement] - 1; // move in snake-waves from right to left and left to right from top to bottom
+        return orientationIndices[id][placement] * (Board.DIM * Board.DIM)
+                + rowOffset * Board.DIM
+                + columnOffset;
+    }
+
+    private void initSortKeys() {
+        for (int id = 0; id < masks.length; id++) {
+            sortRanks[id] = new int[rankedPlacements[id].length];
+            for (int rank = 0; rank < rankedPlacements[id].length; rank++) {
+                sortRanks[id][rankedPlacements[id][rank]] = rank;
+            }
+        }
+
+        long weight = 1; // mixed radix number with the lowest piece id as most significant digit
+        for (int id = sortKeyWeights.length - 1; id >= 0; id--) {
+            sortKeyWeights[id] = weight;
+            weight = Math.multiplyExact(weight, getNumPlacements(id)); // the key of every solution has to fit into a long
+        }
+
+        for (int id = 0; id < masks.length; id++) {
+            sortKeys[id] = new long[getNumPlacements(id)];
+            for (int placement = 0; placement < sortKeys[id].length; placement++) {
+                sortKeys[id][placement] = sortRanks[id][placement] * sortKeyWeights[id];
+            }
+        }
+    }
+
+    public long getSortKey(int pieceId, int placement) {
+        return sortKeys[pieceId][placement];
+    }
+
+    public long[] getSortKeys(int pieceId) {
+        return sortKeys[pieceId];
+    }
+
+    public int getPlacementOfSortKey(long sortKey, int pieceId) {
+        int rank = (int) ((sortKey / sortKeyWeights[pieceId]) % getNumPlacements(pieceId));
+        return rankedPlacements[pieceId][rank];
+    }
+
+    public int getSortRank(int pieceId, int placement) { // position of the placement in the solution order
+        return sortRanks[pieceId][placement];
+    }
+
+    public int getRankedPlacement(int pieceId, int sortRank) {
+        return rankedPlacements[pieceId][sortRank];
+    }
+
+    public long getPieceFieldsOfSortKey(long sortKey) {
+        long pieceFields = 0;
+        for (int id = 0; id < masks.length; id++) {
+            pieceFields |= masks[id][getPlacementOfSortKey(sortKey, id)];
+        }
+        return pieceFields;
+    }
+
+    public int getNumPieces() {
+        return masks.length;
+    }
+
+    public long countDiceNumbers(long fields) {
+        long packed = 0;
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            packed += Long.bitCount(fields & numberMasks[diceNumber]) * PackedDiceNumbers.single(diceNumber);
+        }
+        return packed;
+    }
+
+    public long getNumberMask(int diceNumber) { // the fields a dice with this number can stay uncovered on
+        return numberMasks[diceNumber];
+    }
+
+    public int getFieldNumber(int fieldIndex) {
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            if ((numberMasks[diceNumber] & 1L << fieldIndex) != 0) {
+                return diceNumber;
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldIndex);
+    }
+
+    public int getPlacement(int pieceId, int orientationIndex, int rowOffset, int columnOffset) {
+        return orientationStarts[pieceId][orientationIndex]
+                + rowOffset * orientationColumns[pieceId][orientationIndex] + columnOffset;
+    }
+
+    public int getNumPlacements(int pieceId) {
+        return masks[pieceId].length;
+    }
+
+    public long[] getMasks(int pieceId) {
+        return masks[pieceId];
+    }
+
+    public long[] getDiceNumbers(int pieceId) {
+        return diceNumbers[pieceId];
+    }
+
+    public long getMask(int pieceId, int placement) {
+        return masks[pieceId][placement];
+    }
+
+    public int getOrientationIndex(int pieceId, int placement) {
+        return orientationIndices[pieceId][placement];
+    }
+
+    public int getRowOffset(int pieceId, int placement) {
+        return rowOffsets[pieceId][placement];
+    }
+
+    public int getColumnOffset(int pieceId, int placement) {
+        return columnOffsets[pieceId][placement];
+    }
+}
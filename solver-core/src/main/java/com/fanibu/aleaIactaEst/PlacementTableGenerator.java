@@ -0,0 +1,24 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PlacementTableGenerator { // run by the build, writes the table of the default layout into the classes
+
+    public static void main(String[] args) throws IOException {
+        Path target = Path.of(args.length > 0 ? args[0] : PlacementTable.DEFAULT_RESOURCE);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+
+        PlacementTable table = PlacementTable.forLayout(Board.getNumbers()); // computed, never the resource it replaces
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target.toFile())))) {
+            table.write(out);
+        }
+        System.out.println("Wrote " + Files.size(target) + " bytes to " + target);
+    }
+}
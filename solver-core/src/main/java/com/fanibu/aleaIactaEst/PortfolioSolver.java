@@ -0,0 +1,142 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+public class PortfolioSolver implements AutoCloseable {
+
+    private static final Comparator<Piece> SMALL_PIECES_FIRST = Comparator.comparingInt(Piece::getNumOccupations)
+            .thenComparingInt(Piece::getMaxDimension);
+
+    private final List<Strategy> strategies = new ArrayList<>();
+    private final ExecutorService executor;
+
+    private PlacementTable placementTable = PlacementTable.DEFAULT;
+
+    private String lastWinner;
+
+    public PortfolioSolver(int numStrategies, long seed) {
+        strategies.add(new Strategy("default", solver -> {
+        }));
+        strategies.add(new Strategy("reversed placements", solver -> solver.setPlacementOrders(reversedPlacementOrders())));
+        strategies.add(new Strategy("small pieces first", solver -> solver.setPieceOrder(SMALL_PIECES_FIRST)));
+        Random random = new Random(seed);
+        while (strategies.size() < numStrategies) { // diversify the remaining strategies randomly
+            long strategySeed = random.nextLong();
+            strategies.add(new Strategy("random " + Long.toHexString(strategySeed), solver -> {
+                Random strategyRandom = new Random(strategySeed);
+                solver.setPieceOrder(randomPieceOrder(strategyRandom));
+                solver.setPlacementOrders(randomPlacementOrders(strategyRandom));
+            }));
+        }
+        executor = Executors.newFixedThreadPool(strategies.size());
+    }
+
+    public void setPlacementTable(PlacementTable placementTable) {
+        this.placementTable = placementTable;
+    }
+
+    // every strategy searches the whole tree on its own thread, the first one to finish decides for all of them
+    public SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        CompletionService<Solver> race = new ExecutorCompletionService<>(executor);
+        AtomicBoolean cancellation = new AtomicBoolean();
+        List<Solver> solvers = new ArrayList<>(strategies.size());
+        for (Strategy strategy : strategies) {
+            Solver solver = new Solver(null, true, 1);
+            solver.setPlacementTable(placementTable);
+            solver.setPrintStatistics(false);
+            solver.setCancellation(cancellation);
+            strategy.configuration().accept(solver);
+            solvers.add(solver);
+        }
+
+        for (Solver solver : solvers) {
+            race.submit(() -> {
+                solver.solve(board, diceNumbers, fixedDiceNumbers);
+                return solver;
+            });
+        }
+
+        try {
+            Solver winner = race.take().get();
+            cancellation.set(true);
+            solvers.forEach(Solver::stop); // the other strategies end at their next placement check
+            awaitLosers(race, solvers.size() - 1);
+            lastWinner = strategies.get(solvers.indexOf(winner)).name();
+            return winner.getSolutions();
+        } catch (InterruptedException | ExecutionException e) {
+            cancellation.set(true);
+            solvers.forEach(Solver::stop);
+            throw new RuntimeException(e);
+        }
+    }
+
+    // the pool has one thread per strategy, so the next race must not start before the stopped ones have left it
+    private static void awaitLosers(CompletionService<Solver> race, int numLosers) throws InterruptedException {
+        for (int i = 0; i < numLosers; i++) {
+            try {
+                race.take().get();
+            } catch (ExecutionException e) {
+                // a loser failing after the race is decided does not change the result
+            }
+        }
+    }
+
+    public boolean hasSolution(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        return !solve(board, diceNumbers, fixedDiceNumbers).isEmpty();
+    }
+
+    public String getLastWinner() {
+        return lastWinner;
+    }
+
+    private int[][] reversedPlacementOrders() {
+        int[][] placementOrders = new int[placementTable.getNumPieces()][];
+        for (int id = 0; id < placementOrders.length; id++) {
+            int numPlacements = placementTable.getNumPlacements(id);
+            placementOrders[id] = new int[numPlacements];
+            for (int i = 0; i < numPlacements; i++) {
+                placementOrders[id][i] = numPlacements - 1 - i;
+            }
+        }
+        return placementOrders;
+    }
+
+    private int[][] randomPlacementOrders(Random random) {
+        int[][] placementOrders = new int[placementTable.getNumPieces()][];
+        for (int id = 0; id < placementOrders.length; id++) {
+            int[] order = IntStream.range(0, placementTable.getNumPlacements(id)).toArray();
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = order[i];
+                order[i] = order[j];
+                order[j] = temp;
+            }
+            placementOrders[id] = order;
+        }
+        return placementOrders;
+    }
+
+    private static Comparator<Piece> randomPieceOrder(Random random) {
+        int[] ranks = random.ints(PieceCollection.NUM_PIECES).toArray();
+        return Comparator.comparingInt(piece -> ranks[piece.getId()]);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Strategy(String name, Consumer<Solver> configuration) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// a board of any size with its own number alphabet and piece set, read from a text file:
+//
+//   name classic-7x7
+//   numbers 7        the alphabet is 0 .. numbers - 1
+//   free 0           numbers left uncovered besides the dice, one entry per field
+//   flip             pieces may also be turned over, optional
+//   board            followed by one line of numbers per row
+//   piece thunder    followed by the rows of the piece, X marks a field
+//
+// blank lines and lines starting with # are ignored
+public class PuzzleVariant {
+
+    public static final String CLASSIC_RESOURCE = "variants/classic-7x7.txt";
+    public static final String CLASSIC_FLIP_RESOURCE = "variants/classic-7x7-flip.txt";
+
+    private final String name;
+    private final int rows, columns;
+    private final int numNumbers;
+    private final int[] numbers; // per field, row-major
+    private final int[] freeNumbers; // per number, how many of its fields stay uncovered besides the dice
+    private final List<String> pieceNames;
+    private final List<PieceOrientation[]> pieceOrientations;
+    private final boolean flip;
+    private final int numDice;
+
+    private PuzzleVariant(String name, int[][] numberRows, int numNumbers, int[] freeNumbers, boolean flip,
+                          List<String> pieceNames, List<PieceOrientation[]> pieceOrientations) {
+        this.name = name;
+        this.flip = flip;
+        this.rows = numberRows.length;
+        this.columns = numberRows[0].length;
+        this.numNumbers = numNumbers;
+        this.freeNumbers = freeNumbers;
+        this.pieceNames = List.copyOf(pieceNames);
+        this.pieceOrientations = List.copyOf(pieceOrientations);
+
+        numbers = new int[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            if (numberRows[row].length != columns) {
+                throw new IllegalArgumentException("Board row " + row + " has " + numberRows[row].length + " instead of " + columns + " numbers");
+            }
+            for (int column = 0; column < columns; column++) {
+                int number = numberRows[row][column];
+                if (number < 0 || number >= numNumbers) {
+                    throw new IllegalArgumentException("Number " + number + " at " + row + "," + column + " is not in 0.." + (numNumbers - 1));
+                }
+                numbers[row * columns + column] = number;
+            }
+        }
+
+        int pieceFields = 0;
+        for (PieceOrientation[] orientations : pieceOrientations) {
+            pieceFields += orientations[0].getPositions().length;
+        }
+        numDice = rows * columns - pieceFields - Arrays.stream(freeNumbers).sum();
+        if (numDice < 0) {
+            throw new IllegalArgumentException("The pieces and free fields need more than the " + rows * columns + " fields of the board");
+        }
+    }
+
+    public static PuzzleVariant load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader, file.getFileName().toString());
+        }
+    }
+
+    public static PuzzleVariant loadResource(String resource) throws IOException {
+        try (Reader reader = new InputStreamReader(Objects.requireNonNull(
+                PuzzleVariant.class.getClassLoader().getResourceAsStream(resource), resource), StandardCharsets.UTF_8)) {
+            return parse(new BufferedReader(reader), resource);
+        }
+    }
+
+    private static PuzzleVariant parse(BufferedReader reader, String defaultName) throws IOException {
+        String name = defaultName;
+        int numNumbers = -1;
+        boolean flip = false;
+        List<Integer> free = new ArrayList<>();
+        List<int[]> numberRows = new ArrayList<>();
+        List<String> pieceNames = new ArrayList<>();
+        List<List<String>> pieceRows = new ArrayList<>();
+
+        List<String> section = null; // the rows of the board or piece currently read
+        List<String> boardLines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = line.split("\\s+");
+            switch (tokens[0]) {
+                case "name" -> name = tokens[1];
+                case "numbers" -> numNumbers = Integer.parseInt(tokens[1]);
+                case "flip" -> flip = true;
+                case "free" -> Arrays.stream(tokens).skip(1).mapToInt(Integer::parseInt).forEach(free::add);
+                case "board" -> section = boardLines;
+                case "piece" -> {
+                    pieceNames.add(tokens.length > 1 ? tokens[1] : "piece-" + pieceNames.size());
+                    section = new ArrayList<>();
+                    pieceRows.add(section);
+                }
+                default -> {
+                    if (section == null) {
+                        throw new IllegalArgumentException("Unexpected line outside of board and pieces: " + line);
+                    }
+                    section.add(line);
+                }
+            }
+        }
+        for (String boardLine : boardLines) {
+            numberRows.add(Arrays.stream(boardLine.split("\\s+")).mapToInt(Integer::parseInt).toArray());
+        }
+        if (numberRows.isEmpty() || pieceRows.isEmpty()) {
+            throw new IllegalArgumentException("A variant needs a board and at least one piece");
+        }
+        if (numNumbers < 0) {
+            numNumbers = numberRows.stream().flatMapToInt(Arrays::stream).max().orElseThrow() + 1;
+        }
+
+        int[] freeNumbers = new int[numNumbers];
+        free.forEach(number -> freeNumbers[number]++);
+        List<PieceOrientation[]> pieceOrientations = new ArrayList<>();
+        for (int i = 0; i < pieceRows.size(); i++) {
+            pieceOrientations.add(PieceOrientation.createOrientations(parsePiece(pieceNames.get(i), pieceRows.get(i)), flip));
+        }
+        return new PuzzleVariant(name, numberRows.toArray(int[][]::new), numNumbers, freeNumbers, flip, pieceNames, pieceOrientations);
+    }
+
+    private static FieldPosition[] parsePiece(String name, List<String> pieceRows) {
+        List<FieldPosition> positions = new ArrayList<>();
+        for (int row = 0; row < pieceRows.size(); row++) {
+            String pieceRow = pieceRows.get(row);
+            for (int column = 0; column < pieceRow.length(); column++) {
+                if (pieceRow.charAt(column) == 'X') {
+                    positions.add(new FieldPosition(row, column));
+                }
+            }
+        }
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("Piece " + name + " has no fields");
+        }
+        return PieceOrientation.normalize(positions.toArray(FieldPosition[]::new));
+    }
+
+    public int[] countUncoveredNumbers(List<Integer> diceNumbers) { // what a solution leaves uncovered for this roll
+        if (diceNumbers.size() != numDice) {
+            throw new IllegalArgumentException(name + " needs " + numDice + " dice, got " + diceNumbers);
+        }
+        int[] uncovered = freeNumbers.clone();
+        for (int diceNumber : diceNumbers) {
+            if (diceNumber < 0 || diceNumber >= numNumbers) {
+                throw new IllegalArgumentException("Dice number " + diceNumber + " is not in 0.." + (numNumbers - 1));
+            }
+            uncovered[diceNumber]++;
+        }
+        return uncovered;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getNumFields() {
+        return rows * columns;
+    }
+
+    public int getNumNumbers() {
+        return numNumbers;
+    }
+
+    public int getNumber(int field) {
+        return numbers[field];
+    }
+
+    public int getNumDice() {
+        return numDice;
+    }
+
+    public int getNumPieces() {
+        return pieceOrientations.size();
+    }
+
+    public boolean isFlip() {
+        return flip;
+    }
+
+    public String getPieceName(int piece) {
+        return pieceNames.get(piece);
+    }
+
+    public PieceOrientation[] getOrientations(int piece) {
+        return pieceOrientations.get(piece);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + rows + "x" + columns + ", " + getNumPieces() + " pieces" + (flip ? " with flip" : "") + ", " + numDice + " dice)";
+    }
+}
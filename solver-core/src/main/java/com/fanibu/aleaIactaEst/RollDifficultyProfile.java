@@ -0,0 +1,84 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class RollDifficultyProfile {
+
+    private final Map<List<Integer>, RollStatistics> statistics = new HashMap<>();
+
+    public synchronized void record(List<Integer> roll, boolean solvable, long visitedNodes) {
+        RollStatistics rollStatistics = statistics.computeIfAbsent(roll, key -> new RollStatistics());
+        rollStatistics.evaluations++;
+        if (!solvable) {
+            rollStatistics.failures++;
+        }
+        rollStatistics.visitedNodes += visitedNodes;
+    }
+
+    // most frequently failing rolls first, then the most expensive ones, unseen rolls by number of repeated dice
+    public synchronized List<List<Integer>> order(List<List<Integer>> rolls) {
+        RollStatistics unseen = new RollStatistics();
+        Comparator<List<Integer>> hardestFirst = Comparator
+                .comparingDouble((List<Integer> roll) -> statistics.getOrDefault(roll, unseen).getFailureRate())
+                .thenComparingDouble(roll -> statistics.getOrDefault(roll, unseen).getAverageVisitedNodes())
+                .reversed()
+                .thenComparingLong(roll -> roll.stream().distinct().count());
+        return rolls.stream()
+                .sorted(hardestFirst)
+                .toList();
+    }
+
+    public static RollDifficultyProfile load(Path file) throws IOException {
+        RollDifficultyProfile profile = new RollDifficultyProfile();
+        if (!Files.exists(file)) {
+            return profile;
+        }
+        for (String line : Files.readAllLines(file)) { // <roll> <evaluations> <failures> <visited nodes>
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length != 4) {
+                continue;
+            }
+            List<Integer> roll = Arrays.stream(columns[0].split(",")).map(Integer::valueOf).toList();
+            RollStatistics rollStatistics = new RollStatistics();
+            rollStatistics.evaluations = Long.parseLong(columns[1]);
+            rollStatistics.failures = Long.parseLong(columns[2]);
+            rollStatistics.visitedNodes = Long.parseLong(columns[3]);
+            profile.statistics.put(roll, rollStatistics);
+        }
+        return profile;
+    }
+
+    public synchronized void save(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (Map.Entry<List<Integer>, RollStatistics> entry : statistics.entrySet()) {
+                RollStatistics rollStatistics = entry.getValue();
+                writer.write(entry.getKey().stream().map(String::valueOf).collect(Collectors.joining(",")) + " "
+                        + rollStatistics.evaluations + " " + rollStatistics.failures + " " + rollStatistics.visitedNodes);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static final class RollStatistics {
+        private long evaluations;
+        private long failures;
+        private long visitedNodes;
+
+        private double getFailureRate() {
+            return evaluations == 0 ? 0 : (double) failures / evaluations;
+        }
+
+        private double getAverageVisitedNodes() {
+            return evaluations == 0 ? 0 : (double) visitedNodes / evaluations;
+        }
+    }
+}
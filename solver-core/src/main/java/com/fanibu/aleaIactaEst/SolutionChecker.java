@@ -0,0 +1,89 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SolutionChecker {
+
+    private final Board board = new Board();
+
+    private final SolverEngine engine = SolverEngine.fromConfiguration();
+
+    private final List<List<Integer>> rolls = new ArrayList<>();
+
+    private boolean allSameValue;
+
+    public SolutionChecker() {
+        int[] dices = new int[6];
+        for (int i = 1; i <= dices.length; i++) {
+            Arrays.fill(dices, i);
+            addRoll(dices);
+        }
+
+
+        checkAllSubsolutions(dices, 1, 0);
+    }
+
+    private void checkAllSubsolutions(int[] dices, int startValue, int index) {
+        if (index == dices.length) {
+            if (allSameValue) {
+                allSameValue = false;
+            } else {
+                addRoll(dices);
+            }
+            return;
+        }
+
+        for (int i = startValue; i <= 6 ; i++) {
+            dices[index] = i;
+            if (index == 0) {
+                allSameValue = true;
+            }
+            checkAllSubsolutions(dices, i, index + 1);
+        }
+    }
+
+    private void addRoll(int[] dices) {
+        rolls.add(Arrays.stream(dices).boxed().toList());
+    }
+
+    public void checkLocally() {
+        for (List<Integer> roll : rolls) {
+            printResult(roll, engine.findFirstSolution(BoardSnapshot.of(board), roll, List.of()).isPresent());
+        }
+    }
+
+    public void checkDistributed(int numLocalWorkers, int port) throws IOException {
+        try (SolverCoordinator coordinator = new SolverCoordinator(port)) {
+            coordinator.startLocalWorkers(numLocalWorkers, 1);
+            List<Boolean> hasSolutions = coordinator.hasSolutions(BoardSnapshot.of(board), rolls);
+            for (int i = 0; i < rolls.size(); i++) {
+                printResult(rolls.get(i), hasSolutions.get(i));
+            }
+        }
+    }
+
+    public List<List<Integer>> getRolls() {
+        return rolls;
+    }
+
+    private void printResult(List<Integer> roll, boolean solutionFound) {
+        if (solutionFound) {
+            System.out.println(roll + ": Solution found.");
+        } else {
+            System.err.println(roll + ": No solution found!");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        SolutionChecker checker = new SolutionChecker();
+        if (args.length == 0) {
+            checker.checkLocally();
+        } else { // [local worker processes] [coordinator port], remote workers can connect to the same port
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+            checker.checkDistributed(Integer.parseInt(args[0]), port);
+        }
+    }
+}
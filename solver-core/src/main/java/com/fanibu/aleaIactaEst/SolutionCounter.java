@@ -0,0 +1,152 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// exact solution counts without enumerating tilings: a dynamic program over the fields in row-major order,
+// a field is either left uncovered or covered by a piece placement whose first field it is
+public class SolutionCounter {
+
+    private static final int NUMBER_BITS = 3; // uncovered fields per number never exceed the number of dice
+    private static final int MAX_UNCOVERED_FIELDS = Board.DIM; // six dice and the field without number
+    private static final int NUM_DICE = Board.DIM - 1;
+
+    private final PlacementTable placementTable;
+    private final int[] fieldNumbers = new int[BitBoard.NUM_FIELDS];
+    private final long[] numberFields = new long[Board.DIM];
+
+    // state: bits of the fields from the current one on already covered by placed pieces, the placed pieces,
+    // the uncovered fields per number and the total of uncovered fields
+    private final int windowBits;
+    private final int piecesShift;
+    private final int numbersShift;
+    private final int totalShift;
+
+    private final long[][] anchoredMasks; // per field the masks of all placements starting at it, relative to the field
+    private final int[][] anchoredPieces;
+
+    public SolutionCounter(PlacementTable placementTable) {
+        this.placementTable = placementTable;
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            fieldNumbers[field] = placementTable.getFieldNumber(field);
+            numberFields[fieldNumbers[field]] |= 1L << field;
+        }
+
+        List<List<long[]>> anchored = new ArrayList<>();
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            anchored.add(new ArrayList<>());
+        }
+        int maxSpan = 0;
+        for (int id = 0; id < placementTable.getNumPieces(); id++) {
+            for (long mask : placementTable.getMasks(id)) {
+                int firstField = Long.numberOfTrailingZeros(mask);
+                anchored.get(firstField).add(new long[]{mask >>> firstField, id});
+                maxSpan = Math.max(maxSpan, 63 - Long.numberOfLeadingZeros(mask) - firstField);
+            }
+        }
+        anchoredMasks = new long[BitBoard.NUM_FIELDS][];
+        anchoredPieces = new int[BitBoard.NUM_FIELDS][];
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            anchoredMasks[field] = anchored.get(field).stream().mapToLong(placement -> placement[0]).toArray();
+            anchoredPieces[field] = anchored.get(field).stream().mapToInt(placement -> (int) placement[1]).toArray();
+        }
+
+        windowBits = maxSpan + 1;
+        piecesShift = windowBits;
+        numbersShift = piecesShift + placementTable.getNumPieces();
+        totalShift = numbersShift + Board.DIM * NUMBER_BITS;
+        if (totalShift + NUMBER_BITS > Long.SIZE - 1) {
+            throw new IllegalStateException("Counting state does not fit into a long");
+        }
+    }
+
+    public long count(BoardSnapshot board, List<Integer> diceNumbers) {
+        int[] uncoveredFields = Solver.countSolutionDiceNumbers(diceNumbers);
+        long solutionNumbers = 0;
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            solutionNumbers |= (long) uncoveredFields[diceNumber] << (numbersShift + diceNumber * NUMBER_BITS);
+        }
+        long finalState = solutionNumbers | allPieces() | (long) MAX_UNCOVERED_FIELDS << totalShift;
+        return countFinalStates(board, uncoveredFields).get(finalState);
+    }
+
+    private LongCountMap countFinalStates(BoardSnapshot board, int[] uncoveredFields) {
+        long pieceFields = board.getPieceFields();
+        long fixedDiceFields = board.getFixedDiceFields();
+        long windowMask = (1L << windowBits) - 1;
+        long initialState = 0;
+        for (int id = 0; id < placementTable.getNumPieces(); id++) {
+            if (board.isPlaced(id)) {
+                initialState |= 1L << (piecesShift + id);
+            }
+        }
+
+        LongCountMap states = new LongCountMap(1);
+        states.add(initialState, 1);
+        for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+            int number = fieldNumbers[field];
+            long uncoveredIncrement = 1L << (numbersShift + number * NUMBER_BITS) | 1L << totalShift;
+            boolean covered = (pieceFields & 1L << field) != 0;
+            boolean fixedDice = (fixedDiceFields & 1L << field) != 0;
+            long laterFields = BitBoard.ALL_FIELDS & -(1L << field) & ~pieceFields;
+            long blockedFields = pieceFields | fixedDiceFields; // placements anchored here may reach later fixed dice
+            long[] masks = anchoredMasks[field];
+            int[] pieces = anchoredPieces[field];
+            int currentField = field;
+            LongCountMap next = new LongCountMap(states.size()); // layers grow and shrink by small factors only
+
+            states.forEach((state, count) -> {
+                long window = state & windowMask;
+                long placedAndUncovered = state & ~windowMask;
+                if (!canStillMatchNumbers(state, laterFields & ~(window << currentField), fixedDiceFields, uncoveredFields)) {
+                    return;
+                }
+                if (covered || (window & 1) != 0) {
+                    next.add(placedAndUncovered | window >>> 1, count);
+                    return;
+                }
+
+                if (getUncoveredFields(state, number) < uncoveredFields[number]
+                        && (state >>> totalShift) < MAX_UNCOVERED_FIELDS) {
+                    next.add((placedAndUncovered + uncoveredIncrement) | window >>> 1, count);
+                }
+                if (!fixedDice) { // a fixed dice keeps its field uncovered
+                    for (int i = 0; i < masks.length; i++) {
+                        long pieceBit = 1L << (piecesShift + pieces[i]);
+                        if ((window & masks[i]) == 0 && (state & pieceBit) == 0 && (masks[i] << currentField & blockedFields) == 0) {
+                            next.add((placedAndUncovered | pieceBit) | (window | masks[i]) >>> 1, count);
+                        }
+                    }
+                }
+            });
+            states = next;
+        }
+        return states;
+    }
+
+    // enough free fields left for every missing number, and not too many fields no piece can reach anymore
+    private boolean canStillMatchNumbers(long state, long freeFields, long fixedDiceFields, int[] uncoveredFields) {
+        long pieceFields = freeFields & ~fixedDiceFields;
+        long unreachableFields = (freeFields & fixedDiceFields) | (pieceFields & ~BitBoard.neighbors(pieceFields));
+        if ((state >>> totalShift) + Long.bitCount(unreachableFields) > MAX_UNCOVERED_FIELDS) {
+            return false;
+        }
+        for (int diceNumber = 0; diceNumber < Board.DIM; diceNumber++) {
+            int uncovered = getUncoveredFields(state, diceNumber);
+            long fields = numberFields[diceNumber];
+            if (Long.bitCount(freeFields & fields) < uncoveredFields[diceNumber] - uncovered
+                    || uncovered + Long.bitCount(unreachableFields & fields) > uncoveredFields[diceNumber]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int getUncoveredFields(long state, int diceNumber) {
+        return (int) (state >>> (numbersShift + diceNumber * NUMBER_BITS)) & ((1 << NUMBER_BITS) - 1);
+    }
+
+    private long allPieces() {
+        return ((1L << placementTable.getNumPieces()) - 1) << piecesShift;
+    }
+}
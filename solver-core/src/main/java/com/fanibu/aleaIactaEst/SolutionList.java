@@ -0,0 +1,161 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+public class SolutionList extends AbstractList<BoardSnapshot> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final long fixedDiceFields;
+
+    private long[] sortKeys = new long[INITIAL_CAPACITY];
+    private int size;
+
+    private final Queue<Sink> sinks = new ConcurrentLinkedQueue<>(); // the ones with at least one solution, in order of their first one
+
+    public SolutionList(long fixedDiceFields) {
+        this.fixedDiceFields = fixedDiceFields;
+    }
+
+    public synchronized void addSortKey(long sortKey) {
+        if (size == sortKeys.length) {
+            sortKeys = Arrays.copyOf(sortKeys, sortKeys.length * 2);
+        }
+        sortKeys[size++] = sortKey;
+    }
+
+    public Sink createSink() { // for a single writer thread, adding to it never blocks
+        return new Sink();
+    }
+
+    @Override
+    public boolean add(BoardSnapshot solution) {
+        addSortKey(solution.getSortKey());
+        return true;
+    }
+
+    @Override
+    public synchronized BoardSnapshot get(int index) {
+        return BoardSnapshot.ofSortKey(getSortKey(index), fixedDiceFields);
+    }
+
+    // solutions of sinks come after the directly added ones, sink by sink, until sort merges them
+    public synchronized long getSortKey(int index) {
+        if (index < size) {
+            return sortKeys[index];
+        }
+        int sinkIndex = index - size;
+        for (Sink sink : sinks) {
+            int published = sink.published;
+            if (sinkIndex < published) {
+                return sink.get(sinkIndex);
+            }
+            sinkIndex -= published;
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        int totalSize = size;
+        for (Sink sink : sinks) {
+            totalSize += sink.published;
+        }
+        return totalSize;
+    }
+
+    public synchronized void sort() { // merges the sinks, their writers have to be finished
+        mergeSinks();
+        Arrays.sort(sortKeys, 0, size);
+    }
+
+    private void mergeSinks() {
+        for (Sink sink = sinks.poll(); sink != null; sink = sinks.poll()) {
+            int published = sink.published;
+            if (size + published > sortKeys.length) {
+                sortKeys = Arrays.copyOf(sortKeys, Math.max(sortKeys.length * 2, size + published));
+            }
+            for (int i = 0; i < published; i += CHUNK_SIZE) {
+                System.arraycopy(sink.chunks[i >>> CHUNK_BITS], 0, sortKeys, size + i, Math.min(CHUNK_SIZE, published - i));
+            }
+            size += published;
+        }
+    }
+
+    public synchronized SolutionList filter(LongPredicate sortKeyFilter) {
+        SolutionList filtered = new SolutionList(fixedDiceFields);
+        forEachSortKey(sortKey -> {
+            if (sortKeyFilter.test(sortKey)) {
+                filtered.addSortKey(sortKey);
+            }
+        });
+        return filtered;
+    }
+
+    public synchronized long[] toSortKeyArray() {
+        long[] array = new long[size()];
+        int[] index = {0};
+        forEachSortKey(sortKey -> {
+            if (index[0] < array.length) { // sinks may have published more in the meantime
+                array[index[0]++] = sortKey;
+            }
+        });
+        return array;
+    }
+
+    private void forEachSortKey(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(sortKeys[i]);
+        }
+        for (Sink sink : sinks) {
+            int published = sink.published;
+            for (int i = 0; i < published; i++) {
+                action.accept(sink.get(i));
+            }
+        }
+    }
+
+    public long getFixedDiceFields() {
+        return fixedDiceFields;
+    }
+
+    // append-only chunks, so readers can access the published solutions while the writer keeps adding
+    public final class Sink {
+
+        private long[][] chunks = new long[1][];
+        private int size; // only accessed by the writer
+        private volatile int published;
+
+        private Sink() {
+        }
+
+        public void add(long sortKey) {
+            int chunk = size >>> CHUNK_BITS;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new long[CHUNK_SIZE];
+            }
+            chunks[chunk][size & CHUNK_MASK] = sortKey;
+            if (size++ == 0) { // sinks without solutions are never visited by readers
+                sinks.add(this);
+            }
+            published = size; // the volatile write makes the chunks visible to every reader of published
+        }
+
+        private long get(int index) {
+            return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+    }
+}
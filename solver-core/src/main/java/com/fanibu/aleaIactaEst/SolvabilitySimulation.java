@@ -0,0 +1,186 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class SolvabilitySimulation {
+
+    private static final double Z_95 = 1.96;
+    private static final int MIN_SAMPLES = 200;
+    private static final int SAMPLES_PER_THREAD_AND_BATCH = 16;
+    private static final int NUM_DICE = 6;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final double targetHalfWidth;
+    private final long maxSamples;
+
+    private final BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+
+    public SolvabilitySimulation(int numThreads, long seed, double targetHalfWidth, long maxSamples) {
+        pool = new ForkJoinPool(numThreads);
+        this.seed = seed;
+        this.targetHalfWidth = targetHalfWidth;
+        this.maxSamples = maxSamples;
+    }
+
+    // samples until the 95% interval of the layout's solvability rate is tight enough or maxSamples is reached
+    public LayoutStatistics simulate(int[][] numbers) {
+        PlacementTable placementTable = PlacementTable.forLayout(numbers);
+        LayoutStatistics statistics = new LayoutStatistics();
+
+        long nextSample = 0;
+        while (nextSample < maxSamples
+                && (statistics.total.getTrials() < MIN_SAMPLES || statistics.total.getHalfWidth() > targetHalfWidth)) {
+            int batchSize = (int) Math.min(maxSamples - nextSample, (long) pool.getParallelism() * SAMPLES_PER_THREAD_AND_BATCH);
+            List<Callable<Void>> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                long sampleIndex = nextSample++;
+                batch.add(() -> {
+                    runSample(numbers, placementTable, new Random(seed + sampleIndex * 0x9E3779B97F4A7C15L), statistics);
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(batch)) {
+                try {
+                    result.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return statistics;
+    }
+
+    private void runSample(int[][] numbers, PlacementTable placementTable, Random random, LayoutStatistics statistics) {
+        List<Integer> roll = new ArrayList<>(NUM_DICE);
+        for (int i = 0; i < NUM_DICE; i++) {
+            roll.add(random.nextInt(NUM_DICE) + 1);
+        }
+
+        // a random subset of the dice is fixed, each on a random free field showing its number
+        List<Integer> fixedDiceNumbers = new ArrayList<>(roll);
+        Collections.shuffle(fixedDiceNumbers, random);
+        fixedDiceNumbers = fixedDiceNumbers.subList(0, random.nextInt(NUM_DICE + 1));
+        long fixedDiceFields = 0;
+        for (int number : fixedDiceNumbers) {
+            List<Integer> candidateFields = new ArrayList<>();
+            for (int row = 0; row < numbers.length; row++) {
+                for (int column = 0; column < numbers[row].length; column++) {
+                    if (numbers[row][column] == number && (fixedDiceFields & BitBoard.fieldBit(row, column)) == 0) {
+                        candidateFields.add(BitBoard.fieldIndex(row, column));
+                    }
+                }
+            }
+            fixedDiceFields |= 1L << candidateFields.get(random.nextInt(candidateFields.size()));
+        }
+
+        Solver solver = new Solver(null, true, 1);
+        solver.setPlacementTable(placementTable);
+        solver.setPrintStatistics(false);
+        solver.solve(emptyBoard.withFixedDiceFields(fixedDiceFields), roll, fixedDiceNumbers);
+
+        boolean solvable = !solver.getSolutions().isEmpty();
+        statistics.total.record(solvable);
+        statistics.perRoll.computeIfAbsent(roll.stream().sorted().toList(), key -> new Proportion()).record(solvable);
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static final class LayoutStatistics {
+        private final Proportion total = new Proportion();
+        private final Map<List<Integer>, Proportion> perRoll = new ConcurrentHashMap<>();
+
+        public Proportion getTotal() {
+            return total;
+        }
+
+        public Map<List<Integer>, Proportion> getPerRoll() {
+            return perRoll;
+        }
+    }
+
+    public static final class Proportion {
+        private long successes;
+        private long trials;
+
+        private synchronized void record(boolean success) {
+            trials++;
+            if (success) {
+                successes++;
+            }
+        }
+
+        public synchronized long getTrials() {
+            return trials;
+        }
+
+        public synchronized double getRate() {
+            return trials == 0 ? 0 : (double) successes / trials;
+        }
+
+        // Wilson score interval, stays meaningful for rates close to 0 or 1
+        public synchronized double getCenter() {
+            double z2 = Z_95 * Z_95;
+            return (getRate() + z2 / (2 * trials)) / (1 + z2 / trials);
+        }
+
+        public synchronized double getHalfWidth() {
+            if (trials == 0) {
+                return 0.5;
+            }
+            double rate = getRate();
+            double z2 = Z_95 * Z_95;
+            return Z_95 * Math.sqrt(rate * (1 - rate) / trials + z2 / (4.0 * trials * trials)) / (1 + z2 / trials);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%.2f%% [%.2f%%, %.2f%%] (%d/%d)", 100 * getRate(),
+                    100 * (getCenter() - getHalfWidth()), 100 * (getCenter() + getHalfWidth()), successes, trials);
+        }
+    }
+
+    private static void printReport(int[][] numbers, LayoutStatistics statistics) {
+        System.out.print(GenerateLatinSquare.formatSquare(numbers));
+        System.out.println("solvable: " + statistics.getTotal());
+        statistics.getPerRoll().entrySet().stream()
+                .filter(entry -> entry.getValue().getRate() < 1)
+                .sorted(Comparator.comparingDouble(entry -> entry.getValue().getRate()))
+                .forEach(entry -> System.out.println("  " + entry.getKey() + ": " + entry.getValue()));
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws IOException { // [threads] [interval half width] [max samples] [layout file] [seed]
+        int numThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        double targetHalfWidth = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+        long maxSamples = args.length > 2 ? Long.parseLong(args[2]) : 100_000;
+        List<int[][]> layouts = args.length > 3
+                ? GenerateLatinSquare.parseSquares(Files.readAllLines(Path.of(args[3])), Board.DIM)
+                : Collections.singletonList(Board.getNumbers());
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        SolvabilitySimulation simulation = new SolvabilitySimulation(numThreads, seed, targetHalfWidth, maxSamples);
+        try {
+            for (int[][] numbers : layouts) {
+                printReport(numbers, simulation.simulate(numbers));
+            }
+        } finally {
+            simulation.shutdown();
+        }
+    }
+}
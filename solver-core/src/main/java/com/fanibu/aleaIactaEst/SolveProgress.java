@@ -0,0 +1,78 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+public class SolveProgress { // completed top-level subtrees, weighted by their estimated size
+
+    private final double[] subtreeWeights;
+    private final double totalWeight;
+    private final DoubleAdder completedWeight = new DoubleAdder();
+
+    private final long startNanos = System.nanoTime();
+    private volatile boolean finished;
+
+    SolveProgress(double[] subtreeWeights) {
+        this.subtreeWeights = subtreeWeights;
+        double totalWeight = 0;
+        for (double weight : subtreeWeights) {
+            totalWeight += weight;
+        }
+        this.totalWeight = totalWeight;
+    }
+
+    TopLevelSubtree startSubtree(int index) {
+        return new TopLevelSubtree(subtreeWeights[index]);
+    }
+
+    void finish() {
+        finished = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public double getFraction() {
+        if (finished) {
+            return 1;
+        }
+        return totalWeight == 0 ? 0 : Math.min(1, completedWeight.sum() / totalWeight);
+    }
+
+    public double getEstimatedTotalNodes() {
+        return totalWeight;
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public long getEstimatedRemainingMillis() { // -1 until the first subtree is done
+        double fraction = getFraction();
+        if (fraction == 0) {
+            return -1;
+        }
+        return (long) (getElapsedMillis() * (1 - fraction) / fraction);
+    }
+
+    final class TopLevelSubtree { // done once the searching thread and all tasks split off from it are done
+
+        private final double weight;
+        private final AtomicInteger openParts = new AtomicInteger(1);
+
+        private TopLevelSubtree(double weight) {
+            this.weight = weight;
+        }
+
+        void partStarted() {
+            openParts.incrementAndGet();
+        }
+
+        void partFinished() {
+            if (openParts.decrementAndGet() == 0) {
+                completedWeight.add(weight);
+            }
+        }
+    }
+}
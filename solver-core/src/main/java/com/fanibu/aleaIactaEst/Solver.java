@@ -0,0 +1,600 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+public class Solver {
+
+    private static final Comparator<Piece> PIECE_ORDER = Comparator.comparingInt(Piece::getNumOccupations)
+            .thenComparingInt(Piece::getMaxDimension)
+            .thenComparingInt(Piece::getMinDimension).reversed();
+
+    private static final int CONNECTIVITY_CHECK_AT_PIECE = 3;
+
+    private static final int THREAD_SPLIT_AT_PIECE = 2;
+
+    private static final int ROOT_SUBTREE = -1;
+
+    private static final long SCARCITY_SCALE = 840; // divisible by every slack + 1 up to 8
+
+    private static final long PROBE_SEED = 0x5eed; // fixed, so estimates are reproducible
+
+    private static final int PROGRESS_PROBES_PER_SUBTREE = 16;
+    private static final int ESTIMATE_PROBES_PER_SUBTREE = 64;
+
+    private final Runnable solvingFinishedCallback; // e.g. the UI, run once the solutions are sorted
+
+    private PlacementTable placementTable = PlacementTable.DEFAULT;
+    private Comparator<Piece> pieceOrder = PIECE_ORDER;
+    private int[][] placementOrders; // null: placement table order
+
+    private volatile boolean solving = false;
+    private AtomicBoolean cancellation; // shared by solvers racing on the same problem, set once one of them is done
+
+    private final boolean searchOnlyOneSolution;
+    private final int numThreads;
+    private boolean deterministic = false;
+    private boolean scarcityOrdering;
+    private boolean printStatistics = true;
+    private boolean progressTracking = false;
+    private boolean checkConnectivity;
+
+    private volatile SolutionList solutions = new SolutionList(0);
+    private volatile SolveProgress progress;
+
+    private List<Subtree> subtrees = List.of();
+    private int numSubtrees, nextSubtreeToPublish;
+    private final AtomicInteger firstSolutionSubtree = new AtomicInteger();
+
+    private BoardSnapshot initialBoard;
+    private long solutionDiceNumbers, fixedDiceNumbers;
+
+    private AtomicInteger prunedTreesCounter, notPrunedTreesCounter;
+    private LongAdder visitedNodesCounter = new LongAdder();
+
+    private ExecutorService threadExecutor;
+
+    public Solver() {
+        this(null, true);
+    }
+
+    public Solver(Runnable solvingFinishedCallback) {
+        this(solvingFinishedCallback, false);
+    }
+
+    public Solver(Runnable solvingFinishedCallback, boolean searchOnlyOneSolution) {
+        this(solvingFinishedCallback, searchOnlyOneSolution, Math.max(1, Runtime.getRuntime().availableProcessors() - 2));
+    }
+
+    public Solver(Runnable solvingFinishedCallback, boolean searchOnlyOneSolution, int numThreads) {
+        this.searchOnlyOneSolution = searchOnlyOneSolution;
+        this.solvingFinishedCallback = solvingFinishedCallback;
+        this.numThreads = numThreads;
+        this.scarcityOrdering = searchOnlyOneSolution; // full enumeration visits every placement anyway
+    }
+
+    public Field getNextHintDicePosition(Stream<Field> unoccupiedFields) {
+        SolutionList currentSolutions = solutions;
+        long[] solutionPieceFields = Arrays.stream(currentSolutions.toSortKeyArray()).parallel()
+                .map(placementTable::getPieceFieldsOfSortKey)
+                .toArray();
+
+        Field bestField = unoccupiedFields
+                .max(Comparator.comparingLong(field -> countSolutionsWithFreeField(solutionPieceFields, field)))
+                .orElseThrow();
+
+        long bestFieldBit = BitBoard.fieldBit(bestField.getRow(), bestField.getColumn());
+        solutions = currentSolutions.filter(sortKey -> (placementTable.getPieceFieldsOfSortKey(sortKey) & bestFieldBit) == 0);
+        return bestField;
+    }
+
+    private long countSolutionsWithFreeField(long[] solutionPieceFields, Field field) {
+        long fieldBit = BitBoard.fieldBit(field.getRow(), field.getColumn());
+        return Arrays.stream(solutionPieceFields).parallel()
+                .filter(pieceFields -> (pieceFields & fieldBit) == 0)
+                .count();
+    }
+
+    public PiecePositionSolutions getNextHintPiecePosition(List<Piece> availablePieces) {
+        SolutionList currentSolutions = solutions;
+        long[] sortKeys = currentSolutions.toSortKeyArray();
+
+        Piece bestPiece = null;
+        int bestPlacement = -1;
+        int bestNumSolutions = 0;
+        for (Piece piece : availablePieces) {
+            int pieceId = piece.getId();
+            int[] solutionsPerPlacement = new int[placementTable.getNumPlacements(pieceId)];
+            for (long sortKey : sortKeys) {
+                solutionsPerPlacement[placementTable.getPlacementOfSortKey(sortKey, pieceId)]++;
+            }
+
+            for (int placement = 0; placement < solutionsPerPlacement.length; placement++) {
+                if (solutionsPerPlacement[placement] > bestNumSolutions) {
+                    bestPiece = piece;
+                    bestPlacement = placement;
+                    bestNumSolutions = solutionsPerPlacement[placement];
+                }
+            }
+        }
+        if (bestPiece == null) {
+            throw new NoSuchElementException("No solution available for a hint");
+        }
+
+        int bestPieceId = bestPiece.getId();
+        int placement = bestPlacement;
+        solutions = currentSolutions.filter(sortKey -> placementTable.getPlacementOfSortKey(sortKey, bestPieceId) == placement);
+        return createPiecePositionSolutions(bestPiece, bestPlacement, solutions);
+    }
+
+    private PiecePositionSolutions createPiecePositionSolutions(Piece piece, int placement, List<BoardSnapshot> placementSolutions) {
+        int pieceId = piece.getId();
+        PieceOrientation orientation = piece.getOrientations()[placementTable.getOrientationIndex(pieceId, placement)];
+        FieldPosition position = new FieldPosition(placementTable.getRowOffset(pieceId, placement),
+                placementTable.getColumnOffset(pieceId, placement));
+        return new PiecePositionSolutions(piece, orientation, position, placementSolutions);
+    }
+
+    public record PiecePositionSolutions(Piece piece, PieceOrientation orientation, FieldPosition position,
+                                         List<BoardSnapshot> solutions) {
+    }
+
+    public void solve(Board board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        solve(BoardSnapshot.of(board), diceNumbers, fixedDiceNumbers);
+    }
+
+    public void solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        long startTime = System.currentTimeMillis();
+
+        prunedTreesCounter = new AtomicInteger();
+        notPrunedTreesCounter = new AtomicInteger();
+        visitedNodesCounter = new LongAdder();
+
+        initialBoard = board;
+        startSolving();
+        resetSolutions(initialBoard.getFixedDiceFields());
+
+        int[] diceOccurrences = countSolutionDiceNumbers(diceNumbers);
+        checkConnectivity = Arrays.stream(diceOccurrences).anyMatch(x -> x > 1); // will not prune many trees if dices are 1-2-3-4-5-6 --> not worth the cost
+
+        solutionDiceNumbers = PackedDiceNumbers.pack(diceOccurrences);
+        this.fixedDiceNumbers = PackedDiceNumbers.pack(Board.countDiceNumbers(fixedDiceNumbers.stream()));
+        long visibleDiceNumbers = placementTable.countDiceNumbers(~initialBoard.getPieceFields() & BitBoard.ALL_FIELDS);
+
+        int[] pieceOrder = createPieceOrder(initialBoard, this.pieceOrder);
+        int[][] searchPlacementOrders = placementOrders == null && scarcityOrdering
+                ? createScarcityPlacementOrders(visibleDiceNumbers)
+                : placementOrders;
+        SearchState state = new SearchState(pieceOrder, new SearchPlacements(placementTable, searchPlacementOrders),
+                initialBoard.getNumPiecesOnBoard(), solutions, ROOT_SUBTREE);
+
+        progress = progressTracking ? createProgress(state, visibleDiceNumbers) : null;
+        threadExecutor = numThreads > 1 ? Executors.newFixedThreadPool(numThreads) : null;
+
+        solveWithCurrentBoard(state, 0, initialBoard.getOccupiedFields(), visibleDiceNumbers, initialBoard.getSortKey());
+        visitedNodesCounter.add(state.visitedNodes);
+
+        if (threadExecutor != null) {
+            threadExecutor.shutdown();
+            try {
+                boolean terminated = threadExecutor.awaitTermination(300, TimeUnit.SECONDS);
+                if (!terminated) {
+                    System.err.println("Solver timeout");
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        if (deterministic) {
+            publishFinishedSubtrees();
+        }
+        solutions.sort();
+        if (progress != null) {
+            progress.finish();
+        }
+        solving = false;
+
+        if (solvingFinishedCallback != null)
+            solvingFinishedCallback.run();
+
+        if (printStatistics) {
+            printStatistics(startTime);
+        }
+    }
+
+    static int[] countSolutionDiceNumbers(List<Integer> diceNumbers) {
+        int[] diceOccurrences = Board.countDiceNumbers(diceNumbers.stream());
+        diceOccurrences[0] = 1;
+        return diceOccurrences;
+    }
+
+    // weights every placement of the first piece by the estimated size of the subtree below it
+    private SolveProgress createProgress(SearchState state, long visibleDiceNumbers) {
+        if (state.pieceOrder.length == 0) {
+            return new SolveProgress(new double[0]);
+        }
+        int firstPiece = state.pieceOrder[0];
+        return new SolveProgress(estimateSubtreeNodes(state.pieceOrder, state.placements.masks[firstPiece],
+                state.placements.diceNumbers[firstPiece], initialBoard.getOccupiedFields(), visibleDiceNumbers,
+                solutionDiceNumbers, PROGRESS_PROBES_PER_SUBTREE));
+    }
+
+    // search nodes a solve would visit, estimated without solving, e.g. to decide at admission whether to run it right away;
+    // the subtree estimates are the ones weighting the progress. They include the dice number pruning, but neither the
+    // connectivity pruning nor the stop of first-solution solves, so the estimate is an upper bound in expectation
+    public double estimateSearchNodes(BoardSnapshot board, List<Integer> diceNumbers) {
+        int[] pieceOrder = createPieceOrder(board, this.pieceOrder);
+        if (pieceOrder.length == 0) {
+            return 1;
+        }
+        long visibleDiceNumbers = placementTable.countDiceNumbers(~board.getPieceFields() & BitBoard.ALL_FIELDS);
+        double nodes = 1; // the root
+        for (double subtreeNodes : estimateSubtreeNodes(pieceOrder, placementTable.getMasks(pieceOrder[0]),
+                placementTable.getDiceNumbers(pieceOrder[0]), board.getOccupiedFields(), visibleDiceNumbers,
+                PackedDiceNumbers.pack(countSolutionDiceNumbers(diceNumbers)), ESTIMATE_PROBES_PER_SUBTREE)) {
+            nodes += subtreeNodes;
+        }
+        return nodes;
+    }
+
+    private double[] estimateSubtreeNodes(int[] pieceOrder, long[] masks, long[] diceNumbers, long occupiedFields,
+                                          long visibleDiceNumbers, long solutionDiceNumbers, int probesPerSubtree) {
+        int[] remainingPieces = Arrays.copyOfRange(pieceOrder, 1, pieceOrder.length);
+        Random random = new Random(PROBE_SEED);
+
+        double[] subtreeNodes = new double[masks.length];
+        for (int placement = 0; placement < masks.length; placement++) {
+            if ((masks[placement] & occupiedFields) == 0) {
+                subtreeNodes[placement] = TreeSizeEstimator.estimate(placementTable, remainingPieces,
+                        occupiedFields | masks[placement], visibleDiceNumbers - diceNumbers[placement],
+                        solutionDiceNumbers, probesPerSubtree, random);
+            }
+        }
+        return subtreeNodes;
+    }
+
+    private void printStatistics(long startTime) {
+        int total = prunedTreesCounter.get() + notPrunedTreesCounter.get();
+        if (total > 0) {
+            System.out.println("prune ratio: " + (double) prunedTreesCounter.get() / total);
+            System.out.println("total trees pruned: " + prunedTreesCounter);
+            System.out.println("total trees: " + total);
+        }
+        System.out.println("Solving took: " + (System.currentTimeMillis() - startTime) / 1000d + "s");
+    }
+
+    static int[] createPieceOrder(BoardSnapshot board) {
+        return createPieceOrder(board, PIECE_ORDER);
+    }
+
+    private static int[] createPieceOrder(BoardSnapshot board, Comparator<Piece> pieceOrder) {
+        return PieceCollection.createPieceInstances().stream()
+                .filter(piece -> !board.isPlaced(piece.getId()))
+                .sorted(pieceOrder)
+                .mapToInt(Piece::getId)
+                .toArray();
+    }
+
+    // safe placements first, placements covering numbers the roll can least afford to lose last
+    private int[][] createScarcityPlacementOrders(long visibleDiceNumbers) {
+        long[] weights = new long[Board.DIM];
+        for (int diceNumber = 0; diceNumber < weights.length; diceNumber++) {
+            int slack = PackedDiceNumbers.get(visibleDiceNumbers, diceNumber) - PackedDiceNumbers.get(solutionDiceNumbers, diceNumber);
+            weights[diceNumber] = SCARCITY_SCALE / (Math.max(slack, 0) + 1);
+        }
+
+        int[][] placementOrders = new int[placementTable.getNumPieces()][];
+        for (int id = 0; id < placementOrders.length; id++) {
+            long[] placementDiceNumbers = placementTable.getDiceNumbers(id);
+            long[] costsAndPlacements = new long[placementDiceNumbers.length];
+            for (int placement = 0; placement < placementDiceNumbers.length; placement++) {
+                long cost = 0;
+                for (int diceNumber = 0; diceNumber < weights.length; diceNumber++) {
+                    cost += PackedDiceNumbers.get(placementDiceNumbers[placement], diceNumber) * weights[diceNumber];
+                }
+                costsAndPlacements[placement] = cost << Short.SIZE | placement; // ties keep the placement table order
+            }
+            Arrays.sort(costsAndPlacements);
+
+            placementOrders[id] = new int[costsAndPlacements.length];
+            for (int i = 0; i < costsAndPlacements.length; i++) {
+                placementOrders[id][i] = (int) (costsAndPlacements[i] & 0xFFFF);
+            }
+        }
+        return placementOrders;
+    }
+
+    private void solveWithCurrentBoard(SearchState state, int depth, long occupiedFields, long visibleDiceNumbers, long sortKey) {
+        state.visitedNodes++;
+        if (depth == state.pieceOrder.length) {
+            if (visibleDiceNumbers == solutionDiceNumbers) { // valid solution
+                state.solutionSink.add(sortKey);
+
+                if (searchOnlyOneSolution) {
+                    if (deterministic) { // subtrees before this one could still contain an earlier solution
+                        firstSolutionSubtree.accumulateAndGet(state.subtreeIndex, Math::min);
+                    } else {
+                        stop();
+                    }
+                }
+            }
+            return;
+        }
+
+        if (!PackedDiceNumbers.containsAll(visibleDiceNumbers, solutionDiceNumbers)) { // too many number fields occupied
+            return;
+        }
+
+        int piecesOnBoard = state.initialPiecesOnBoard + depth;
+        if (checkConnectivity && piecesOnBoard == CONNECTIVITY_CHECK_AT_PIECE) {
+            if (areFieldComponentsCompatible(state, depth, occupiedFields)) {
+                notPrunedTreesCounter.incrementAndGet();
+            } else {
+                prunedTreesCounter.incrementAndGet();
+                return;
+            }
+        }
+
+        int nextPiece = state.pieceOrder[depth];
+        long[] placementMasks = state.placements.masks[nextPiece];
+        long[] placementDiceNumbers = state.placements.diceNumbers[nextPiece];
+        long[] placementSortKeys = state.placements.sortKeys[nextPiece];
+        for (int placement = 0; placement < placementMasks.length; placement++) {
+            if (!solving || state.subtreeIndex >= firstSolutionSubtree.get()) {
+                return;
+            }
+
+            if ((placementMasks[placement] & occupiedFields) == 0) {
+                long nextOccupiedFields = occupiedFields | placementMasks[placement];
+                long nextVisibleDiceNumbers = visibleDiceNumbers - placementDiceNumbers[placement];
+                long nextSortKey = sortKey + placementSortKeys[placement];
+                if (depth == 0 && progress != null) {
+                    state.progressSubtree = progress.startSubtree(placement);
+                }
+
+                if (threadExecutor != null && piecesOnBoard + 1 == THREAD_SPLIT_AT_PIECE) {
+                    if (numSubtrees > firstSolutionSubtree.get()) { // later subtrees cannot contain the first solution
+                        return;
+                    }
+                    Subtree subtree = createSubtree();
+                    SearchState subtreeState = state.forSubtree(subtree);
+                    threadExecutor.submit(() -> {
+                        if (subtree.index <= firstSolutionSubtree.get()) { // queued before an earlier subtree found one
+                            solveWithCurrentBoard(subtreeState, depth + 1, nextOccupiedFields, nextVisibleDiceNumbers, nextSortKey);
+                        }
+                        visitedNodesCounter.add(subtreeState.visitedNodes);
+                        subtree.finished = true;
+                        if (subtreeState.progressSubtree != null) {
+                            subtreeState.progressSubtree.partFinished();
+                        }
+                    });
+                } else {
+                    solveWithCurrentBoard(state, depth + 1, nextOccupiedFields, nextVisibleDiceNumbers, nextSortKey);
+                }
+                if (depth == 0 && state.progressSubtree != null) {
+                    state.progressSubtree.partFinished();
+                }
+            }
+        }
+    }
+
+    private boolean areFieldComponentsCompatible(SearchState state, int depth, long occupiedFields) {
+        long freeFields = ~occupiedFields & BitBoard.ALL_FIELDS;
+
+        int componentCount = 0;
+        int biggestComponentSize = 0;
+        for (long remainingFields = freeFields; remainingFields != 0; componentCount++) {
+            long component = BitBoard.connectedComponent(freeFields, Long.lowestOneBit(remainingFields));
+            remainingFields &= ~component;
+            state.components[componentCount] = component;
+            biggestComponentSize = Math.max(biggestComponentSize, Long.bitCount(component));
+        }
+        if (componentCount == 1) {
+            return true;
+        }
+
+        long componentFixedDiceNumbers = fixedDiceNumbers;
+        for (int i = 0; i < componentCount; i++) {
+            long component = state.components[i];
+            if (Long.bitCount(component) >= biggestComponentSize)
+                continue;
+
+            if (!isAnyPieceFittable(state, depth, component)) {
+                componentFixedDiceNumbers += placementTable.countDiceNumbers(component);
+                if (!PackedDiceNumbers.containsAll(solutionDiceNumbers, componentFixedDiceNumbers)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isAnyPieceFittable(SearchState state, int depth, long component) {
+        for (int i = depth; i < state.pieceOrder.length; i++) {
+            for (long placementMask : placementTable.getMasks(state.pieceOrder[i])) {
+                if ((placementMask & ~component) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private synchronized void resetSolutions(long fixedDiceFields) {
+        solutions = new SolutionList(fixedDiceFields);
+        subtrees = Collections.synchronizedList(new ArrayList<>());
+        numSubtrees = 0;
+        nextSubtreeToPublish = 0;
+        firstSolutionSubtree.set(Integer.MAX_VALUE);
+    }
+
+    private Subtree createSubtree() {
+        if (deterministic) { // every subtree gets its own slot
+            Subtree subtree = new Subtree(numSubtrees++, new SolutionList(solutions.getFixedDiceFields()));
+            subtrees.add(subtree);
+            return subtree;
+        }
+        return new Subtree(numSubtrees++, solutions);
+    }
+
+    private synchronized void publishFinishedSubtrees() { // appends subtree results in search order, as a single thread would find them
+        while (nextSubtreeToPublish < subtrees.size() && subtrees.get(nextSubtreeToPublish).finished) {
+            if (searchOnlyOneSolution && !solutions.isEmpty()) {
+                return;
+            }
+            SolutionList subtreeSolutions = subtrees.get(nextSubtreeToPublish++).solutions;
+            int numSolutions = searchOnlyOneSolution ? Math.min(1, subtreeSolutions.size()) : subtreeSolutions.size();
+            for (int i = 0; i < numSolutions; i++) {
+                solutions.addSortKey(subtreeSolutions.getSortKey(i));
+            }
+        }
+    }
+
+    private synchronized void startSolving() { // a solver of a race that was already decided does not start searching
+        solving = cancellation == null || !cancellation.get();
+    }
+
+    public synchronized void stop() {
+        solving = false;
+    }
+
+    public boolean isSolving() {
+        return solving;
+    }
+
+    public SolutionList getSolutions() {
+        if (deterministic && solving) {
+            publishFinishedSubtrees();
+        }
+        return solutions;
+    }
+
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public void setPrintStatistics(boolean printStatistics) {
+        this.printStatistics = printStatistics;
+    }
+
+    public void setProgressTracking(boolean progressTracking) {
+        this.progressTracking = progressTracking;
+    }
+
+    public SolveProgress getProgress() { // null if progress tracking is off
+        return progress;
+    }
+
+    public void setScarcityOrdering(boolean scarcityOrdering) {
+        this.scarcityOrdering = scarcityOrdering;
+    }
+
+    public void setCancellation(AtomicBoolean cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    public void setPieceOrder(Comparator<Piece> pieceOrder) {
+        this.pieceOrder = pieceOrder;
+    }
+
+    public void setPlacementOrders(int[][] placementOrders) { // per piece id a permutation of its placement indices
+        this.placementOrders = placementOrders;
+    }
+
+    public void setPlacementTable(PlacementTable placementTable) { // board layout to solve on, geometry is the same for every layout
+        this.placementTable = placementTable;
+    }
+
+    public long getVisitedNodes() {
+        return visitedNodesCounter.sum();
+    }
+
+    private static final class SearchState {
+
+        private final int[] pieceOrder;
+        private final SearchPlacements placements;
+        private final int initialPiecesOnBoard;
+
+        private final SolutionList.Sink solutionSink; // one per thread task, so recording a solution never blocks
+        private final int subtreeIndex;
+
+        private final long[] components = new long[BitBoard.NUM_FIELDS];
+
+        private long visitedNodes;
+
+        private SolveProgress.TopLevelSubtree progressSubtree; // the one containing the current node
+
+        private SearchState(int[] pieceOrder, SearchPlacements placements, int initialPiecesOnBoard, SolutionList solutions,
+                            int subtreeIndex) {
+            this.pieceOrder = pieceOrder;
+            this.placements = placements;
+            this.initialPiecesOnBoard = initialPiecesOnBoard;
+            this.solutionSink = solutions.createSink();
+            this.subtreeIndex = subtreeIndex;
+        }
+
+        private SearchState forSubtree(Subtree subtree) {
+            SearchState subtreeState = new SearchState(pieceOrder, placements, initialPiecesOnBoard, subtree.solutions, subtree.index);
+            subtreeState.progressSubtree = progressSubtree;
+            if (progressSubtree != null) {
+                progressSubtree.partStarted();
+            }
+            return subtreeState;
+        }
+    }
+
+    private static final class SearchPlacements { // placement data per piece id in the order the search tries them
+
+        private final long[][] masks;
+        private final long[][] diceNumbers;
+        private final long[][] sortKeys;
+
+        private SearchPlacements(PlacementTable placementTable, int[][] placementOrders) {
+            int numPieces = placementTable.getNumPieces();
+            masks = new long[numPieces][];
+            diceNumbers = new long[numPieces][];
+            sortKeys = new long[numPieces][];
+            for (int id = 0; id < numPieces; id++) {
+                if (placementOrders == null) { // placement table order, no copies needed
+                    masks[id] = placementTable.getMasks(id);
+                    diceNumbers[id] = placementTable.getDiceNumbers(id);
+                    sortKeys[id] = placementTable.getSortKeys(id);
+                    continue;
+                }
+                int[] order = placementOrders[id];
+                masks[id] = new long[order.length];
+                diceNumbers[id] = new long[order.length];
+                sortKeys[id] = new long[order.length];
+                for (int i = 0; i < order.length; i++) {
+                    masks[id][i] = placementTable.getMask(id, order[i]);
+                    diceNumbers[id][i] = placementTable.getDiceNumbers(id)[order[i]];
+                    sortKeys[id][i] = placementTable.getSortKey(id, order[i]);
+                }
+            }
+        }
+    }
+
+    private static final class Subtree {
+
+        private final int index; // position in the search order
+        private final SolutionList solutions;
+
+        private volatile boolean finished;
+
+        private Subtree(int index, SolutionList solutions) {
+            this.index = index;
+            this.solutions = solutions;
+        }
+    }
+}
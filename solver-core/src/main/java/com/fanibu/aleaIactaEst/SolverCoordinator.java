@@ -0,0 +1,248 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SolverCoordinator implements AutoCloseable {
+
+    private static final int RESULT_POLL_MILLIS = 100;
+    private static final long HEARTBEAT_TIMEOUT_MILLIS = 10 * SolverWorker.HEARTBEAT_INTERVAL_MILLIS; // then the unit is re-issued
+    private static final long RECONNECT_GRACE_MILLIS = 30_000; // remote workers that lost their connection may come back
+
+    private final ServerSocket serverSocket;
+
+    private final BlockingQueue<WorkUnit> pendingUnits = new LinkedBlockingQueue<>();
+    private final BlockingQueue<UnitResult> completedUnits = new LinkedBlockingQueue<>();
+    private final Set<Integer> activeUnitIds = ConcurrentHashMap.newKeySet();
+
+    private final List<Process> localWorkers = new ArrayList<>();
+    private final List<Socket> workerSockets = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger connectedWorkers = new AtomicInteger();
+    private volatile long lastWorkerLostNanos; // 0 until a connected worker got lost
+
+    private final AtomicInteger unitCounter = new AtomicInteger();
+
+    private volatile boolean closed = false;
+
+    public SolverCoordinator(int port) throws IOException {
+        serverSocket = new ServerSocket(port);
+
+        Thread acceptThread = new Thread(this::acceptWorkers, "SolverCoordinator-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void startLocalWorkers(int numWorkers, int threadsPerWorker) throws IOException {
+        String javaCommand = ProcessHandle.current().info().command().orElse("java");
+        for (int i = 0; i < numWorkers; i++) {
+            Process worker = new ProcessBuilder(javaCommand, "-cp", System.getProperty("java.class.path"),
+                    SolverWorker.class.getName(), "localhost", String.valueOf(getPort()), String.valueOf(threadsPerWorker))
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            localWorkers.add(worker);
+        }
+    }
+
+    public SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers,
+                              boolean searchOnlyOneSolution) {
+        List<WorkUnit> units = new ArrayList<>();
+        int[] pieceOrder = Solver.createPieceOrder(board);
+        if (pieceOrder.length == 0) {
+            units.add(createUnit(board, diceNumbers, fixedDiceNumbers, searchOnlyOneSolution));
+        } else { // one unit per top-level placement of the piece the solver would place first
+            int firstPiece = pieceOrder[0];
+            long[] placementMasks = PlacementTable.DEFAULT.getMasks(firstPiece);
+            for (int placement = 0; placement < placementMasks.length; placement++) {
+                if ((placementMasks[placement] & board.getOccupiedFields()) == 0) {
+                    units.add(createUnit(board.withPlacement(firstPiece, placement), diceNumbers, fixedDiceNumbers,
+                            searchOnlyOneSolution));
+                }
+            }
+        }
+
+        SolutionList solutions = new SolutionList(board.getFixedDiceFields());
+        for (long[] sortKeys : runUnits(units, searchOnlyOneSolution).values()) {
+            for (long sortKey : sortKeys) {
+                solutions.addSortKey(sortKey);
+            }
+        }
+        solutions.sort();
+        return solutions;
+    }
+
+    public List<Boolean> hasSolutions(BoardSnapshot board, List<List<Integer>> rolls) {
+        List<WorkUnit> units = rolls.stream()
+                .map(roll -> createUnit(board, roll, List.of(), true))
+                .toList();
+
+        Map<Integer, long[]> results = runUnits(units, false);
+        return units.stream()
+                .map(unit -> results.get(unit.id()).length > 0)
+                .toList();
+    }
+
+    private WorkUnit createUnit(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers,
+                                boolean searchOnlyOneSolution) {
+        return new WorkUnit(unitCounter.getAndIncrement(), board, diceNumbers, fixedDiceNumbers, searchOnlyOneSolution);
+    }
+
+    private synchronized Map<Integer, long[]> runUnits(List<WorkUnit> units, boolean stopAtFirstSolution) {
+        units.forEach(unit -> activeUnitIds.add(unit.id()));
+        pendingUnits.addAll(units);
+
+        Map<Integer, long[]> results = new HashMap<>();
+        try {
+            while (results.size() < units.size()) {
+                UnitResult result = completedUnits.poll(RESULT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (result == null) {
+                    checkWorkersAlive();
+                } else if (activeUnitIds.contains(result.id())) {
+                    results.put(result.id(), result.sortKeys());
+                    if (stopAtFirstSolution && result.sortKeys().length > 0) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            units.forEach(unit -> activeUnitIds.remove(unit.id()));
+            pendingUnits.removeIf(unit -> !activeUnitIds.contains(unit.id())); // units of this batch that are no longer needed
+        }
+        return results;
+    }
+
+    private void checkWorkersAlive() {
+        if (connectedWorkers.get() > 0 || localWorkers.stream().anyMatch(Process::isAlive)) {
+            return;
+        }
+        if (!localWorkers.isEmpty()) {
+            throw new IllegalStateException("All solver workers died");
+        }
+        long lostNanos = lastWorkerLostNanos; // before the first remote worker connected, waiting is expected
+        if (lostNanos != 0 && System.nanoTime() - lostNanos > TimeUnit.MILLISECONDS.toNanos(RECONNECT_GRACE_MILLIS)) {
+            throw new IllegalStateException("All remote solver workers are gone");
+        }
+    }
+
+    private void acceptWorkers() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                workerSockets.add(socket);
+                connectedWorkers.incrementAndGet();
+
+                Thread workerThread = new Thread(() -> serveWorker(socket), "SolverCoordinator-" + socket.getRemoteSocketAddress());
+                workerThread.setDaemon(true);
+                workerThread.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Accepting solver worker failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serveWorker(Socket socket) {
+        try (socket) {
+            BufferedInputStream bufferedIn = new BufferedInputStream(socket.getInputStream());
+            DataInputStream in = new DataInputStream(bufferedIn);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            while (!closed) {
+                WorkUnit unit = pendingUnits.take();
+                if (!activeUnitIds.contains(unit.id())) {
+                    continue;
+                }
+                try {
+                    unit.write(out);
+                    completedUnits.add(new UnitResult(unit.id(), awaitResult(socket, bufferedIn, in, out, unit)));
+                } catch (IOException e) {
+                    if (activeUnitIds.contains(unit.id())) {
+                        pendingUnits.add(unit); // re-issue to another worker
+                    }
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Lost solver worker " + socket.getRemoteSocketAddress() + ": " + e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workerSockets.remove(socket);
+            if (connectedWorkers.decrementAndGet() == 0) {
+                lastWorkerLostNanos = System.nanoTime();
+            }
+        }
+    }
+
+    // the worker sends heartbeats while it solves: a worker silent for too long is dropped and its unit re-issued,
+    // a unit that is not needed anymore, e.g. after another one found the first solution, is cancelled
+    private long[] awaitResult(Socket socket, BufferedInputStream bufferedIn, DataInputStream in, DataOutputStream out,
+                               WorkUnit unit) throws IOException {
+        long lastMessageNanos = System.nanoTime();
+        boolean cancelled = false;
+        while (true) {
+            if (!cancelled && !activeUnitIds.contains(unit.id())) {
+                WorkUnit.writeCancel(out);
+                cancelled = true;
+            }
+
+            socket.setSoTimeout(RESULT_POLL_MILLIS);
+            try {
+                bufferedIn.mark(1); // waits for the next message without consuming any of it
+                if (bufferedIn.read() < 0) {
+                    throw new EOFException("Solver worker closed the connection");
+                }
+                bufferedIn.reset();
+            } catch (SocketTimeoutException e) {
+                if (System.nanoTime() - lastMessageNanos > TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_TIMEOUT_MILLIS)) {
+                    throw new IOException("No heartbeat for work unit " + unit.id() + " within " + HEARTBEAT_TIMEOUT_MILLIS + " ms");
+                }
+                continue;
+            }
+
+            lastMessageNanos = System.nanoTime();
+            socket.setSoTimeout((int) HEARTBEAT_TIMEOUT_MILLIS); // the rest of the message follows right away
+            long[] sortKeys = WorkUnit.readResult(in, unit.id());
+            if (sortKeys != null) {
+                return sortKeys;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        synchronized (workerSockets) {
+            for (Socket socket : workerSockets) {
+                socket.close();
+            }
+        }
+        localWorkers.forEach(Process::destroy);
+    }
+
+    private record UnitResult(int id, long[] sortKeys) {
+    }
+}
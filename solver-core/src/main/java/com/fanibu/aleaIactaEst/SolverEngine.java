@@ -0,0 +1,74 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.List;
+import java.util.Optional;
+
+// a search strategy for the solutions of a board: engines differ in speed only, all of them find the same solutions
+public interface SolverEngine {
+
+    String BACKTRACKING = "backtracking";
+    String MEET_IN_THE_MIDDLE = "meet-in-the-middle";
+
+    String CONFIGURATION_PROPERTY = "solver.engine";
+
+    String getName();
+
+    SolutionList solve(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers); // sorted
+
+    default long count(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+        return solve(board, diceNumbers, fixedDiceNumbers).size();
+    }
+
+    // any solution, engines that can stop early return the first one they find
+    default Optional<BoardSnapshot> findFirstSolution(BoardSnapshot board, List<Integer> diceNumbers,
+                                                      List<Integer> fixedDiceNumbers) {
+        SolutionList solutions = solve(board, diceNumbers, fixedDiceNumbers);
+        return solutions.isEmpty() ? Optional.empty() : Optional.of(solutions.get(0));
+    }
+
+    // the placement of a piece not on the board yet that most solutions share, the first one in placement table order on ties
+    default Optional<HintSampler.PiecePlacement> hint(BoardSnapshot board, List<Integer> diceNumbers,
+                                                      List<Integer> fixedDiceNumbers) {
+        long[] sortKeys = solve(board, diceNumbers, fixedDiceNumbers).toSortKeyArray();
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        HintSampler.PiecePlacement bestHint = null;
+        int bestNumSolutions = 0;
+        for (int id = 0; id < placementTable.getNumPieces(); id++) {
+            if (board.isPlaced(id)) {
+                continue;
+            }
+            int[] solutionsPerPlacement = new int[placementTable.getNumPlacements(id)];
+            for (long sortKey : sortKeys) {
+                solutionsPerPlacement[placementTable.getPlacementOfSortKey(sortKey, id)]++;
+            }
+            for (int placement = 0; placement < solutionsPerPlacement.length; placement++) {
+                if (solutionsPerPlacement[placement] > bestNumSolutions) {
+                    bestHint = new HintSampler.PiecePlacement(id, placement);
+                    bestNumSolutions = solutionsPerPlacement[placement];
+                }
+            }
+        }
+        return Optional.ofNullable(bestHint);
+    }
+
+    static List<String> getNames() {
+        return List.of(BACKTRACKING, MEET_IN_THE_MIDDLE);
+    }
+
+    static SolverEngine create(String name) {
+        return create(name, PlacementTable.DEFAULT);
+    }
+
+    static SolverEngine create(String name, PlacementTable placementTable) { // solving on the layout of the table
+        return switch (name) {
+            case BACKTRACKING -> new BacktrackingEngine(Math.max(1, Runtime.getRuntime().availableProcessors() - 2), placementTable);
+            case MEET_IN_THE_MIDDLE -> new MeetInTheMiddleSolver(placementTable);
+            default -> throw new IllegalArgumentException("Unknown solver engine: " + name + ", known: " + getNames());
+        };
+    }
+
+    static SolverEngine fromConfiguration() { // -Dsolver.engine=<name>, backtracking by default
+        return create(System.getProperty(CONFIGURATION_PROPERTY, BACKTRACKING));
+    }
+}
@@ -0,0 +1,86 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SolverWorker {
+
+    static final long HEARTBEAT_INTERVAL_MILLIS = 1000;
+
+    private final String host;
+    private final int port;
+    private final int numThreads;
+
+    public SolverWorker(String host, int port, int numThreads) {
+        this.host = host;
+        this.port = port;
+        this.numThreads = numThreads;
+    }
+
+    public void run() throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            while (true) {
+                WorkUnit unit;
+                try {
+                    unit = WorkUnit.read(in);
+                } catch (EOFException e) { // coordinator closed the connection
+                    return;
+                }
+                if (unit == null) {
+                    continue;
+                }
+
+                Solver solver = new Solver(null, unit.searchOnlyOneSolution(), numThreads);
+                AtomicBoolean cancellation = new AtomicBoolean(); // holds even if the cancel arrives before the solve started
+                solver.setCancellation(cancellation);
+                Thread heartbeat = new Thread(() -> sendHeartbeats(in, out, solver, cancellation), "SolverWorker-heartbeat");
+                heartbeat.setDaemon(true);
+                heartbeat.start();
+                solver.solve(unit.board(), unit.diceNumbers(), unit.fixedDiceNumbers());
+                heartbeat.interrupt();
+                try {
+                    heartbeat.join(); // owns the streams until it ended
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                WorkUnit.writeResult(out, unit.id(), solver.getSolutions().toSortKeyArray());
+            }
+        }
+    }
+
+    // tells the coordinator this worker is alive while it solves, and stops the solver once the coordinator cancels the unit
+    private static void sendHeartbeats(DataInputStream in, DataOutputStream out, Solver solver, AtomicBoolean cancellation) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(HEARTBEAT_INTERVAL_MILLIS);
+                if (in.available() >= Integer.BYTES && in.readInt() == WorkUnit.CANCEL_ID) {
+                    cancellation.set(true);
+                    solver.stop(); // the result of the stopped solve is discarded by the coordinator
+                }
+                WorkUnit.writeHeartbeat(out);
+            }
+        } catch (InterruptedException e) {
+            // the solve finished
+        } catch (IOException e) {
+            solver.stop(); // the coordinator is gone, writing the result fails as well
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SolverWorker <coordinator host> <coordinator port> [threads]");
+            System.exit(1);
+        }
+        int numThreads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        new SolverWorker(args[0], Integer.parseInt(args[1]), numThreads).run();
+    }
+}
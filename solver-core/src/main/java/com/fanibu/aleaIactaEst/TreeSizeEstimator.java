@@ -0,0 +1,61 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Random;
+
+public final class TreeSizeEstimator { // Knuth's estimator: random root-to-leaf walks, each weighted by the product of branching factors
+
+    private TreeSizeEstimator() {
+    }
+
+    public static double estimate(PlacementTable placementTable, int[] pieceOrder, long occupiedFields,
+                                  long visibleDiceNumbers, long solutionDiceNumbers, int probes, Random random) {
+        int[] fittingPlacements = new int[maxPlacements(placementTable, pieceOrder)];
+        double totalNodes = 0;
+        for (int probe = 0; probe < probes; probe++) {
+            totalNodes += probe(placementTable, pieceOrder, occupiedFields, visibleDiceNumbers, solutionDiceNumbers,
+                    random, fittingPlacements);
+        }
+        return totalNodes / probes;
+    }
+
+    private static double probe(PlacementTable placementTable, int[] pieceOrder, long occupiedFields, long visibleDiceNumbers,
+                                long solutionDiceNumbers, Random random, int[] fittingPlacements) {
+        double nodes = 1;
+        if (!PackedDiceNumbers.containsAll(visibleDiceNumbers, solutionDiceNumbers)) {
+            return nodes;
+        }
+        double pathWeight = 1;
+        for (int piece : pieceOrder) {
+            long[] masks = placementTable.getMasks(piece);
+            long[] diceNumbers = placementTable.getDiceNumbers(piece);
+            int numFree = 0;
+            int numFitting = 0;
+            for (int placement = 0; placement < masks.length; placement++) {
+                if ((masks[placement] & occupiedFields) == 0) {
+                    numFree++;
+                    if (PackedDiceNumbers.containsAll(visibleDiceNumbers - diceNumbers[placement], solutionDiceNumbers)) {
+                        fittingPlacements[numFitting++] = placement;
+                    }
+                }
+            }
+            nodes += pathWeight * numFree; // like the solver, every free placement is a node, only fitting ones get children
+            if (numFitting == 0) {
+                break;
+            }
+            pathWeight *= numFitting;
+
+            int placement = fittingPlacements[random.nextInt(numFitting)];
+            occupiedFields |= masks[placement];
+            visibleDiceNumbers -= diceNumbers[placement];
+        }
+        return nodes;
+    }
+
+    private static int maxPlacements(PlacementTable placementTable, int[] pieceOrder) {
+        int maxPlacements = 0;
+        for (int piece : pieceOrder) {
+            maxPlacements = Math.max(maxPlacements, placementTable.getNumPlacements(piece));
+        }
+        return maxPlacements;
+    }
+}
@@ -0,0 +1,323 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// solves a PuzzleVariant of any size: the first undecided field is either left uncovered for its number
+// or covered by a placement starting there, so every field is decided exactly once
+//
+// the board is a long[] of words, a placement only keeps the two words from its first field on, which holds
+// every piece spanning up to 65 fields in row-major order (five full rows of a 13 wide board)
+public class VariantSolver {
+
+    private static final int PARALLEL_SPLIT_PIECES = 2; // every subtree below this many placed pieces is its own task
+
+    private final PuzzleVariant variant;
+    private final int numFields;
+    private final int numWords;
+
+    private final int[][] placementsByField; // placements whose first field is the index
+    private final int[] placementPieces;
+    private final long[] placementLowMasks, placementHighMasks; // the placement's fields in its word and the next one
+    private final int[][] placementFields;
+    private final int[][] placementNumbers; // the number of each covered field
+    private final int[] fieldsPerNumber;
+
+    public VariantSolver(PuzzleVariant variant) {
+        if (variant.getNumPieces() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " pieces are supported, got " + variant.getNumPieces());
+        }
+        this.variant = variant;
+        numFields = variant.getNumFields();
+        numWords = (numFields + Long.SIZE - 1) / Long.SIZE;
+
+        List<List<Integer>> fieldPlacements = new ArrayList<>();
+        for (int field = 0; field < numFields; field++) {
+            fieldPlacements.add(new ArrayList<>());
+        }
+        List<int[]> allPlacementFields = new ArrayList<>();
+        List<Integer> allPlacementPieces = new ArrayList<>();
+        for (int piece = 0; piece < variant.getNumPieces(); piece++) {
+            for (PieceOrientation orientation : variant.getOrientations(piece)) {
+                FieldPosition[] positions = orientation.getPositions();
+                for (int rowOffset = 0; rowOffset <= variant.getRows() - orientation.getHeight(); rowOffset++) {
+                    for (int columnOffset = 0; columnOffset <= variant.getColumns() - orientation.getWidth(); columnOffset++) {
+                        int[] fields = new int[positions.length];
+                        for (int i = 0; i < positions.length; i++) {
+                            fields[i] = (positions[i].row() + rowOffset) * variant.getColumns() + positions[i].column() + columnOffset;
+                        }
+                        Arrays.sort(fields);
+                        fieldPlacements.get(fields[0]).add(allPlacementFields.size());
+                        allPlacementFields.add(fields);
+                        allPlacementPieces.add(piece);
+                    }
+                }
+            }
+        }
+
+        int numPlacements = allPlacementFields.size();
+        placementFields = allPlacementFields.toArray(int[][]::new);
+        placementPieces = allPlacementPieces.stream().mapToInt(Integer::intValue).toArray();
+        placementLowMasks = new long[numPlacements];
+        placementHighMasks = new long[numPlacements];
+        for (int placement = 0; placement < numPlacements; placement++) {
+            int word = placementFields[placement][0] / Long.SIZE;
+            for (int field : placementFields[placement]) {
+                int bit = field - word * Long.SIZE;
+                if (bit >= 2 * Long.SIZE) {
+                    throw new IllegalArgumentException("Piece " + variant.getPieceName(placementPieces[placement])
+                            + " spans more than two words on a board with " + variant.getColumns() + " columns");
+                }
+                if (bit < Long.SIZE) {
+                    placementLowMasks[placement] |= 1L << bit;
+                } else {
+                    placementHighMasks[placement] |= 1L << (bit - Long.SIZE);
+                }
+            }
+        }
+        placementNumbers = new int[numPlacements][];
+        for (int placement = 0; placement < numPlacements; placement++) {
+            placementNumbers[placement] = Arrays.stream(placementFields[placement]).map(variant::getNumber).toArray();
+        }
+        fieldsPerNumber = new int[variant.getNumNumbers()];
+        for (int field = 0; field < numFields; field++) {
+            fieldsPerNumber[variant.getNumber(field)]++;
+        }
+
+        placementsByField = fieldPlacements.stream()
+                .map(placements -> placements.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    public long count(List<Integer> diceNumbers) { // in parallel, over the subtrees of the first placed pieces
+        Search root = new Search(variant.countUncoveredNumbers(diceNumbers), null);
+        List<Search> subtrees = new ArrayList<>();
+        root.split(0, subtrees);
+        return subtrees.parallelStream()
+                .mapToLong(subtree -> {
+                    subtree.search(subtree.nextField);
+                    return subtree.numSolutions;
+                })
+                .sum();
+    }
+
+    public void forEachSolution(List<Integer> diceNumbers, Consumer<int[]> action) { // placement per piece, in search order
+        new Search(variant.countUncoveredNumbers(diceNumbers), action).search(0);
+    }
+
+    public Optional<int[]> findFirstSolution(List<Integer> diceNumbers) {
+        int[][] first = new int[1][];
+        Search search = new Search(variant.countUncoveredNumbers(diceNumbers), solution -> first[0] = solution);
+        search.stopAfterFirst = true;
+        search.search(0);
+        return Optional.ofNullable(first[0]);
+    }
+
+    public String render(int[] solution) { // pieces as letters, uncovered fields with their number
+        char[] cells = new char[numFields];
+        for (int field = 0; field < numFields; field++) {
+            cells[field] = Character.forDigit(variant.getNumber(field), Character.MAX_RADIX);
+        }
+        for (int piece = 0; piece < solution.length; piece++) {
+            for (int field : placementFields[solution[piece]]) {
+                cells[field] = (char) ('A' + piece);
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (int row = 0; row < variant.getRows(); row++) {
+            for (int column = 0; column < variant.getColumns(); column++) {
+                builder.append(cells[row * variant.getColumns() + column]).append(' ');
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    public int[] getPlacementFields(int placement) {
+        return placementFields[placement];
+    }
+
+    public int getNumPlacements() {
+        return placementPieces.length;
+    }
+
+    private final class Search {
+
+        private final long[] decidedFields = new long[numWords + 1]; // covered or left uncovered, one spare word for the high masks
+        private final int[] uncoveredNumbers; // how many fields of each number may still stay uncovered
+        private final int[] undecidedNumbers; // never less than uncoveredNumbers, or the roll cannot be matched anymore
+        private final int[] solution = new int[variant.getNumPieces()];
+        private final Consumer<int[]> action;
+        private final long allPieces = variant.getNumPieces() == Long.SIZE ? -1L : (1L << variant.getNumPieces()) - 1;
+
+        private long placedPieces;
+        private int nextField; // where a split subtree continues
+        private long numSolutions;
+        private boolean stopAfterFirst, stopped;
+
+        private Search(int[] uncoveredNumbers, Consumer<int[]> action) {
+            this.uncoveredNumbers = uncoveredNumbers;
+            this.undecidedNumbers = fieldsPerNumber.clone();
+            this.action = action;
+            for (int field = numFields; field < numWords * Long.SIZE; field++) { // fields beyond the board are never free
+                decidedFields[field / Long.SIZE] |= 1L << field;
+            }
+        }
+
+        private Search copy() {
+            Search copy = new Search(uncoveredNumbers.clone(), action);
+            System.arraycopy(decidedFields, 0, copy.decidedFields, 0, decidedFields.length);
+            System.arraycopy(solution, 0, copy.solution, 0, solution.length);
+            System.arraycopy(undecidedNumbers, 0, copy.undecidedNumbers, 0, undecidedNumbers.length);
+            copy.placedPieces = placedPieces;
+            return copy;
+        }
+
+        private void search(int fromField) {
+            int field = nextUndecidedField(fromField);
+            if (field == numFields) {
+                if (placedPieces == allPieces) { // the fields add up, so every number is uncovered as often as required
+                    numSolutions++;
+                    if (action != null) {
+                        action.accept(solution.clone());
+                    }
+                    stopped = stopAfterFirst;
+                }
+                return;
+            }
+
+            int word = field / Long.SIZE;
+            long fieldBit = 1L << field;
+            int number = variant.getNumber(field);
+            if (uncoveredNumbers[number] > 0) {
+                uncoveredNumbers[number]--;
+                undecidedNumbers[number]--;
+                decidedFields[word] |= fieldBit;
+                search(field + 1);
+                decidedFields[word] &= ~fieldBit;
+                undecidedNumbers[number]++;
+                uncoveredNumbers[number]++;
+            }
+
+            for (int placement : placementsByField[field]) {
+                if (stopped) {
+                    return;
+                }
+                long pieceBit = 1L << placementPieces[placement];
+                if ((placedPieces & pieceBit) == 0 && fits(placement, word)) {
+                    if (place(placement, word, pieceBit)) {
+                        search(field + 1);
+                    }
+                    remove(placement, word, pieceBit);
+                }
+            }
+        }
+
+        private void split(int fromField, List<Search> subtrees) { // collects the subtrees below the first placed pieces
+            int field = nextUndecidedField(fromField);
+            if (Long.bitCount(placedPieces) == PARALLEL_SPLIT_PIECES || field == numFields) {
+                Search subtree = copy();
+                subtree.nextField = field;
+                subtrees.add(subtree);
+                return;
+            }
+
+            int word = field / Long.SIZE;
+            long fieldBit = 1L << field;
+            int number = variant.getNumber(field);
+            if (uncoveredNumbers[number] > 0) {
+                uncoveredNumbers[number]--;
+                undecidedNumbers[number]--;
+                decidedFields[word] |= fieldBit;
+                split(field + 1, subtrees);
+                decidedFields[word] &= ~fieldBit;
+                undecidedNumbers[number]++;
+                uncoveredNumbers[number]++;
+            }
+
+            for (int placement : placementsByField[field]) {
+                long pieceBit = 1L << placementPieces[placement];
+                if ((placedPieces & pieceBit) == 0 && fits(placement, word)) {
+                    if (place(placement, word, pieceBit)) {
+                        split(field + 1, subtrees);
+                    }
+                    remove(placement, word, pieceBit);
+                }
+            }
+        }
+
+        private boolean fits(int placement, int word) {
+            return ((decidedFields[word] & placementLowMasks[placement])
+                    | (decidedFields[word + 1] & placementHighMasks[placement])) == 0;
+        }
+
+        private boolean place(int placement, int word, long pieceBit) { // false if a number cannot stay uncovered often enough
+            decidedFields[word] |= placementLowMasks[placement];
+            decidedFields[word + 1] |= placementHighMasks[placement];
+            placedPieces |= pieceBit;
+            solution[placementPieces[placement]] = placement;
+
+            boolean feasible = true;
+            for (int number : placementNumbers[placement]) {
+                if (--undecidedNumbers[number] < uncoveredNumbers[number]) {
+                    feasible = false;
+                }
+            }
+            return feasible;
+        }
+
+        private void remove(int placement, int word, long pieceBit) {
+            decidedFields[word] &= ~placementLowMasks[placement];
+            decidedFields[word + 1] &= ~placementHighMasks[placement];
+            placedPieces &= ~pieceBit;
+            for (int number : placementNumbers[placement]) {
+                undecidedNumbers[number]++;
+            }
+        }
+
+        private int nextUndecidedField(int fromField) {
+            int word = fromField / Long.SIZE;
+            if (word == numWords) {
+                return numFields;
+            }
+            long undecided = ~decidedFields[word] & (-1L << fromField); // the shift only uses the bit within the word
+            while (undecided == 0) {
+                if (++word == numWords) {
+                    return numFields;
+                }
+                undecided = ~decidedFields[word];
+            }
+            return word * Long.SIZE + Long.numberOfTrailingZeros(undecided);
+        }
+    }
+
+    // usage: [variant file] [dice numbers, e.g. 123456] [count]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: [variant file] [dice numbers, e.g. 123456] [count]");
+            return;
+        }
+
+        PuzzleVariant variant = PuzzleVariant.load(Path.of(args[0]));
+        VariantSolver solver = new VariantSolver(variant);
+        List<Integer> diceNumbers = args[1].chars().map(digit -> Character.digit(digit, Character.MAX_RADIX)).boxed().toList();
+        System.out.println(variant + ", " + solver.getNumPlacements() + " placements, dice " + diceNumbers);
+
+        long startTime = System.nanoTime();
+        Optional<int[]> first = solver.findFirstSolution(diceNumbers);
+        System.out.printf("First solution after %.1f ms%n", (System.nanoTime() - startTime) / 1e6);
+        first.ifPresentOrElse(solution -> System.out.print(solver.render(solution)), () -> System.out.println("No solution"));
+
+        if (args.length > 2 && args[2].equals("count")) {
+            startTime = System.nanoTime();
+            long count = solver.count(diceNumbers);
+            System.out.printf("%d solutions in %.1f ms%n", count, (System.nanoTime() - startTime) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public record WorkUnit(int id, BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers,
+                       boolean searchOnlyOneSolution) {
+
+    public static final int HEARTBEAT_ID = -1; // sent by a worker in place of a result while it is still solving
+    public static final int CANCEL_ID = -2; // sent by the coordinator in place of a unit when the running one is not needed anymore
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        board.write(out);
+        writeNumbers(out, diceNumbers);
+        writeNumbers(out, fixedDiceNumbers);
+        out.writeBoolean(searchOnlyOneSolution);
+        out.flush();
+    }
+
+    public static WorkUnit read(DataInputStream in) throws IOException { // null for a cancel that arrived too late
+        int id = in.readInt();
+        if (id == CANCEL_ID) {
+            return null;
+        }
+        BoardSnapshot board = BoardSnapshot.read(in);
+        List<Integer> diceNumbers = readNumbers(in);
+        List<Integer> fixedDiceNumbers = readNumbers(in);
+        return new WorkUnit(id, board, diceNumbers, fixedDiceNumbers, in.readBoolean());
+    }
+
+    public static void writeResult(DataOutputStream out, int id, long[] sortKeys) throws IOException {
+        out.writeInt(id);
+        out.writeInt(sortKeys.length);
+        for (long sortKey : sortKeys) {
+            out.writeLong(sortKey);
+        }
+        out.flush();
+    }
+
+    public static void writeHeartbeat(DataOutputStream out) throws IOException {
+        out.writeInt(HEARTBEAT_ID);
+        out.flush();
+    }
+
+    public static void writeCancel(DataOutputStream out) throws IOException {
+        out.writeInt(CANCEL_ID);
+        out.flush();
+    }
+
+    public static long[] readResult(DataInputStream in, int expectedId) throws IOException { // null for a heartbeat
+        int id = in.readInt();
+        if (id == HEARTBEAT_ID) {
+            return null;
+        }
+        if (id != expectedId) {
+            throw new IOException("Expected result of work unit " + expectedId + " but got " + id);
+        }
+        long[] sortKeys = new long[in.readInt()];
+        for (int i = 0; i < sortKeys.length; i++) {
+            sortKeys[i] = in.readLong();
+        }
+        return sortKeys;
+    }
+
+    private static void writeNumbers(DataOutputStream out, List<Integer> numbers) throws IOException {
+        out.writeInt(numbers.size());
+        for (int number : numbers) {
+            out.writeInt(number);
+        }
+    }
+
+    private static List<Integer> readNumbers(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Integer> numbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            numbers.add(in.readInt());
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,43 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+
+// development tool, not shipped: deterministic solves on several threads against one thread
+public class DeterministicSolveCheck {
+
+    // [roll, e.g. 112234 ...], deterministic solves on several threads must give the same solutions as one thread,
+    // in first solution mode the very same solution
+    public static void main(String[] args) {
+        List<List<Integer>> rolls = args.length > 0
+                ? Arrays.stream(args).map(roll -> roll.chars().mapToObj(digit -> digit - '0').toList()).toList()
+                : List.of(List.of(1, 1, 2, 2, 3, 4), List.of(1, 3, 5, 5, 6, 6), List.of(2, 2, 2, 2, 2, 2), List.of(1, 2, 3, 4, 5, 6));
+        BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+
+        for (boolean onlyOneSolution : new boolean[]{true, false}) {
+            for (List<Integer> roll : rolls) {
+                Solver singleThreaded = new Solver(null, onlyOneSolution, 1);
+                singleThreaded.setPrintStatistics(false);
+                singleThreaded.solve(emptyBoard, roll, List.of());
+                long[] expected = singleThreaded.getSolutions().toSortKeyArray();
+
+                for (int run = 0; run < 3; run++) { // the threads finish in another order every time
+                    Solver multiThreaded = new Solver(null, onlyOneSolution, 4);
+                    multiThreaded.setPrintStatistics(false);
+                    multiThreaded.setDeterministic(true);
+                    multiThreaded.solve(emptyBoard, roll, List.of());
+                    long[] actual = multiThreaded.getSolutions().toSortKeyArray();
+                    if (!Arrays.equals(actual, expected) || multiThreaded.isSolving()) {
+                        throw new IllegalStateException("Deterministic solve differs from one thread on " + roll
+                                + (onlyOneSolution ? " for the first solution" : "") + ": " + actual.length + " vs " + expected.length);
+                    }
+                    if (run == 0) {
+                        System.out.printf("%s%s: %d solutions, %d nodes on one thread, %d deterministic on four%n", roll,
+                                onlyOneSolution ? " first solution" : "", expected.length, singleThreaded.getVisitedNodes(),
+                                multiThreaded.getVisitedNodes());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+
+// development tool, not shipped: distributed solves with a hanging worker, a first solution and no remaining worker
+public class DistributedSolveCheck {
+
+    // checks the failure handling in one process: a worker that takes a unit and then hangs with its connection open,
+    // a first solution search that cancels the units still running, and remote workers that are all gone
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BoardSnapshot board = BoardSnapshot.of(new Board());
+        List<Integer> diceNumbers = List.of(1, 1, 2, 2, 3, 4);
+        Solver reference = new Solver(null, false, 1);
+        reference.setPrintStatistics(false);
+        reference.solve(board, diceNumbers, List.of());
+
+        try (SolverCoordinator coordinator = new SolverCoordinator(0)) {
+            Socket hangingWorker = new Socket("localhost", coordinator.getPort()); // never reads or answers
+            for (int i = 0; i < 2; i++) { // two, so a unit is still running when the other one finds the first solution
+                Thread workerThread = new Thread(() -> {
+                    try {
+                        new SolverWorker("localhost", coordinator.getPort(), 1).run();
+                    } catch (IOException e) {
+                        System.err.println("Solver worker ended: " + e);
+                    }
+                });
+                workerThread.setDaemon(true);
+                workerThread.start();
+            }
+
+            long start = System.nanoTime();
+            SolutionList solutions = coordinator.solve(board, diceNumbers, List.of(), false);
+            if (!Arrays.equals(solutions.toSortKeyArray(), reference.getSolutions().toSortKeyArray())) {
+                throw new IllegalStateException("Distributed solve differs: " + solutions.size() + " vs " + reference.getSolutions().size());
+            }
+            System.out.printf("%d solutions with a hanging worker in %.1f s%n", solutions.size(), (System.nanoTime() - start) / 1e9);
+            hangingWorker.close();
+
+            start = System.nanoTime();
+            SolutionList first = coordinator.solve(board, diceNumbers, List.of(), true);
+            if (first.isEmpty() || !reference.getSolutions().contains(first.get(0))) {
+                throw new IllegalStateException("First solution is not a solution");
+            }
+            System.out.printf("first solution in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            List<Boolean> solvable = coordinator.hasSolutions(board, List.of(diceNumbers, List.of(2, 2, 2, 2, 2, 2)));
+            System.out.printf("solvable %s in %.1f s right after%n", solvable, (System.nanoTime() - start) / 1e9);
+        }
+
+        try (SolverCoordinator coordinator = new SolverCoordinator(0)) {
+            new Socket("localhost", coordinator.getPort()).close(); // the only remote worker leaves
+            long start = System.nanoTime();
+            boolean solved = false;
+            try {
+                coordinator.hasSolutions(board, List.of(diceNumbers));
+                solved = true;
+            } catch (IllegalStateException e) {
+                System.out.printf("%s after %.1f s%n", e.getMessage(), (System.nanoTime() - start) / 1e9);
+            }
+            if (solved) {
+                throw new IllegalStateException("Solved without any worker");
+            }
+        }
+    }
+}
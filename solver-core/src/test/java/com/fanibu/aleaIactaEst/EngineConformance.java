@@ -0,0 +1,130 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+// development tool, not shipped: runs every registered engine on the same corpus of rolls, fixed dice and fixed pieces,
+// and requires identical answers
+public class EngineConformance {
+
+    private final List<SolverEngine> engines;
+    private final List<Case> corpus;
+
+    private final Map<String, Long> solveNanos = new LinkedHashMap<>();
+    private long numSolutions;
+
+    public EngineConformance(List<SolverEngine> engines, List<Case> corpus) {
+        this.engines = engines;
+        this.corpus = corpus;
+        engines.forEach(engine -> solveNanos.put(engine.getName(), 0L));
+    }
+
+    // random rolls, the first ones on the empty board, later ones with some of their dice fixed and one piece placed
+    public static List<Case> createCorpus(int numCases, int numEmptyBoardCases, long seed) {
+        List<List<Integer>> rolls = new SolutionChecker().getRolls();
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+        Random random = new Random(seed);
+
+        List<Case> corpus = new ArrayList<>();
+        while (corpus.size() < numCases) {
+            List<Integer> roll = rolls.get(random.nextInt(rolls.size()));
+            BoardSnapshot board = BoardSnapshot.of(new Board());
+            List<Integer> fixedDiceNumbers = new ArrayList<>();
+            if (corpus.size() >= numEmptyBoardCases) {
+                int pieceId = random.nextInt(placementTable.getNumPieces());
+                board = board.withPlacement(pieceId, random.nextInt(placementTable.getNumPlacements(pieceId)));
+
+                long fixedDiceFields = 0;
+                for (int diceNumber : roll.subList(0, 1 + random.nextInt(2))) {
+                    long candidates = ~(board.getPieceFields() | fixedDiceFields) & BitBoard.ALL_FIELDS;
+                    List<Integer> fields = new ArrayList<>();
+                    for (int field = 0; field < BitBoard.NUM_FIELDS; field++) {
+                        if ((candidates & 1L << field) != 0 && placementTable.getFieldNumber(field) == diceNumber) {
+                            fields.add(field);
+                        }
+                    }
+                    if (!fields.isEmpty()) {
+                        fixedDiceFields |= 1L << fields.get(random.nextInt(fields.size()));
+                        fixedDiceNumbers.add(diceNumber);
+                    }
+                }
+                board = board.withFixedDiceFields(fixedDiceFields);
+            }
+            corpus.add(new Case(board, roll, fixedDiceNumbers));
+        }
+        return corpus;
+    }
+
+    public void run() {
+        for (Case testCase : corpus) {
+            SolverEngine reference = engines.get(0);
+            SolutionList expected = timedSolve(reference, testCase);
+            Optional<HintSampler.PiecePlacement> expectedHint = reference.hint(testCase.board(), testCase.diceNumbers(),
+                    testCase.fixedDiceNumbers());
+            numSolutions += expected.size();
+
+            for (SolverEngine engine : engines) {
+                if (engine != reference) {
+                    SolutionList solutions = timedSolve(engine, testCase);
+                    check(Arrays.equals(solutions.toSortKeyArray(), expected.toSortKeyArray()), engine, testCase,
+                            "finds " + solutions.size() + " instead of " + expected.size() + " solutions");
+                    check(engine.hint(testCase.board(), testCase.diceNumbers(), testCase.fixedDiceNumbers()).equals(expectedHint),
+                            engine, testCase, "gives another hint");
+                }
+                check(engine.count(testCase.board(), testCase.diceNumbers(), testCase.fixedDiceNumbers()) == expected.size(),
+                        engine, testCase, "counts another number of solutions");
+
+                Optional<BoardSnapshot> firstSolution = engine.findFirstSolution(testCase.board(), testCase.diceNumbers(),
+                        testCase.fixedDiceNumbers());
+                check(firstSolution.isPresent() != expected.isEmpty()
+                                && firstSolution.map(expected::contains).orElse(true),
+                        engine, testCase, "finds a first solution that is not a solution");
+            }
+            System.out.println(testCase + ": " + expected.size() + " solutions, all engines agree");
+        }
+    }
+
+    private SolutionList timedSolve(SolverEngine engine, Case testCase) {
+        long start = System.nanoTime();
+        SolutionList solutions = engine.solve(testCase.board(), testCase.diceNumbers(), testCase.fixedDiceNumbers());
+        solveNanos.merge(engine.getName(), System.nanoTime() - start, Long::sum);
+        return solutions;
+    }
+
+    private static void check(boolean condition, SolverEngine engine, Case testCase, String message) {
+        if (!condition) {
+            throw new IllegalStateException(engine.getName() + " " + message + " on " + testCase);
+        }
+    }
+
+    public void printThroughput() { // of full solves, relative to the first engine
+        long referenceNanos = solveNanos.get(engines.get(0).getName());
+        solveNanos.forEach((name, nanos) -> System.out.printf("%s: %.1f s, %.0f solutions/s, %.2fx%n", name, nanos / 1e9,
+                numSolutions / (nanos / 1e9), (double) referenceNanos / nanos));
+    }
+
+    public static void main(String[] args) { // [cases] [empty board cases] [seed] [engine names ...], all engines by default
+        int numCases = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int numEmptyBoardCases = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        List<String> names = args.length > 3 ? Arrays.asList(args).subList(3, args.length) : SolverEngine.getNames();
+
+        EngineConformance conformance = new EngineConformance(names.stream().map(SolverEngine::create).toList(),
+                createCorpus(numCases, numEmptyBoardCases, seed));
+        conformance.run();
+        conformance.printThroughput();
+    }
+
+    public record Case(BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers) {
+
+        @Override
+        public String toString() {
+            return diceNumbers + " with " + board.getNumPiecesOnBoard() + " pieces and fixed dice " + fixedDiceNumbers;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// development tool, not shipped: solves a few rolls on every registered layout and checks the database answers
+public class LayoutRegistryCheck {
+
+    // usage: [layout directory or -] [solution directory]
+    // solves a few rolls on every layout twice, the second time from the cached data, and checks filtered
+    // database answers against the engines
+    public static void main(String[] args) throws IOException {
+        Path solutionDirectory = args.length > 1 ? Path.of(args[1]) : null;
+        LayoutRegistry registry = LayoutRegistry.withBuiltInLayouts(solutionDirectory);
+        if (args.length > 0 && !args[0].equals("-")) {
+            registry.loadDirectory(Path.of(args[0]));
+        }
+
+        List<List<Integer>> rolls = List.of(List.of(1, 1, 2, 2, 3, 4), List.of(2, 2, 2, 2, 2, 2), List.of(6, 6, 6, 6, 6, 6));
+        for (String name : registry.getNames()) {
+            BoardLayout layout = registry.get(name);
+            for (List<Integer> diceNumbers : rolls) {
+                long startTime = System.nanoTime();
+                int numSolutions = layout.getSolutions(diceNumbers).size();
+                double firstMillis = (System.nanoTime() - startTime) / 1e6;
+                startTime = System.nanoTime();
+                layout.getSolutions(diceNumbers);
+                double cachedMillis = (System.nanoTime() - startTime) / 1e6;
+                System.out.printf("%s %s: %d solutions, %.1f ms first, %.1f ms cached%n",
+                        name, diceNumbers, numSolutions, firstMillis, cachedMillis);
+            }
+
+            // a fixed dice on the first field the roll's number can stay uncovered on, and one placed piece
+            List<Integer> diceNumbers = rolls.get(0);
+            long fixedField = Long.lowestOneBit(layout.getNumberFields(diceNumbers.get(0)));
+            BoardSnapshot board = BoardSnapshot.of(new Board()).withFixedDiceFields(fixedField);
+            SolutionList fromDatabase = layout.getSolutions(board, diceNumbers);
+            SolutionList solved = layout.getEngine(SolverEngine.BACKTRACKING).solve(board, diceNumbers, List.of(diceNumbers.get(0)));
+            if (!fromDatabase.isEmpty()) {
+                BoardSnapshot solution = fromDatabase.get(fromDatabase.size() / 2);
+                BoardSnapshot withPiece = board.withPlacement(0, solution.getPlacement(0));
+                SolutionList pieceFromDatabase = layout.getSolutions(withPiece, diceNumbers);
+                SolutionList pieceSolved = layout.getEngine(SolverEngine.BACKTRACKING).solve(withPiece, diceNumbers, List.of(diceNumbers.get(0)));
+                check(name, pieceFromDatabase, pieceSolved);
+            }
+            check(name, fromDatabase, solved);
+            System.out.printf("%s: %d solutions with a fixed dice, database and engine agree%n", name, fromDatabase.size());
+        }
+    }
+
+    private static void check(String name, SolutionList fromDatabase, SolutionList solved) {
+        if (!Arrays.equals(fromDatabase.toSortKeyArray(), solved.toSortKeyArray())) {
+            throw new IllegalStateException(name + ": database answer differs from the engine, "
+                    + fromDatabase.size() + " vs " + solved.size());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// development tool, not shipped: runs the puzzles of the checked-in corpus with several thread counts and reports the measurements as JSON
+public class MacroBenchmark {
+
+    private static final String CORPUS_RESOURCE = "benchmark-corpus.txt";
+
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    private final int[] threadCounts;
+    private final int warmUpRuns;
+    private final int measuredRuns;
+
+    public MacroBenchmark(int[] threadCounts, int warmUpRuns, int measuredRuns) {
+        this.threadCounts = threadCounts;
+        this.warmUpRuns = warmUpRuns;
+        this.measuredRuns = measuredRuns;
+    }
+
+    public static List<Puzzle> loadCorpus() throws IOException {
+        List<Puzzle> corpus = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
+                MacroBenchmark.class.getClassLoader().getResourceAsStream(CORPUS_RESOURCE)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    corpus.add(parsePuzzle(line));
+                }
+            }
+        }
+        return corpus;
+    }
+
+    private static Puzzle parsePuzzle(String line) {
+        String[] columns = line.split("\\|", -1);
+        if (columns.length != 5) {
+            throw new IllegalArgumentException("Expected 5 columns in corpus line: " + line);
+        }
+        List<Integer> diceNumbers = columns[1].strip().chars().mapToObj(digit -> digit - '0').toList();
+
+        BoardSnapshot board = BoardSnapshot.of(new Board());
+        int[][] numbers = Board.getNumbers();
+        List<Integer> fixedDiceNumbers = new ArrayList<>();
+        long fixedDiceFields = 0;
+        for (String position : tokens(columns[2])) {
+            int[] rowAndColumn = Arrays.stream(position.split(",")).mapToInt(Integer::parseInt).toArray();
+            fixedDiceFields |= BitBoard.fieldBit(rowAndColumn[0], rowAndColumn[1]);
+            fixedDiceNumbers.add(numbers[rowAndColumn[0]][rowAndColumn[1]]);
+        }
+        for (String piece : tokens(columns[3])) {
+            int[] values = Arrays.stream(piece.split("/")).mapToInt(Integer::parseInt).toArray();
+            board = board.withPlacement(values[0], PlacementTable.DEFAULT.getPlacement(values[0], values[1], values[2], values[3]));
+        }
+        return new Puzzle(columns[0].strip(), board.withFixedDiceFields(fixedDiceFields), diceNumbers, fixedDiceNumbers,
+                Long.parseLong(columns[4].strip()));
+    }
+
+    private static List<String> tokens(String column) {
+        return column.isBlank() ? List.of() : List.of(column.strip().split("\\s+"));
+    }
+
+    public List<Result> run(List<Puzzle> corpus) {
+        List<Result> results = new ArrayList<>();
+        for (Puzzle puzzle : corpus) {
+            long baseNanos = 0;
+            for (int threadCount : threadCounts) {
+                Result result = run(puzzle, threadCount);
+                if (baseNanos == 0) {
+                    baseNanos = result.medianNanos() * threadCount; // efficiency relative to the first thread count
+                }
+                results.add(result.withScalingEfficiency((double) baseNanos / (result.medianNanos() * threadCount)));
+                System.err.printf("%s, %d threads: %.1f ms%n", puzzle.name(), threadCount, result.medianNanos() / 1e6);
+            }
+        }
+        return results;
+    }
+
+    private Result run(Puzzle puzzle, int threadCount) {
+        Solver solver = new Solver(null, false, threadCount);
+        solver.setPrintStatistics(false);
+        for (int i = 0; i < warmUpRuns; i++) {
+            solve(solver, puzzle);
+        }
+
+        long[] nanos = new long[measuredRuns];
+        long nodes = 0;
+        long peakHeapBytes = 0;
+        for (int i = 0; i < measuredRuns; i++) {
+            System.gc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long start = System.nanoTime();
+            solve(solver, puzzle);
+            nanos[i] = System.nanoTime() - start;
+            nodes += solver.getVisitedNodes();
+            peakHeapBytes = Math.max(peakHeapBytes, heapPools.stream() // sum of the pool peaks, an upper bound of the heap peak
+                    .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                    .sum());
+        }
+        Arrays.sort(nanos);
+        return new Result(puzzle.name(), threadCount, nanos, nodes, puzzle.expectedSolutions(), peakHeapBytes, 1);
+    }
+
+    private static void solve(Solver solver, Puzzle puzzle) {
+        solver.solve(puzzle.board(), puzzle.diceNumbers(), puzzle.fixedDiceNumbers());
+        if (solver.getSolutions().size() != puzzle.expectedSolutions()) {
+            throw new IllegalStateException(puzzle.name() + ": " + solver.getSolutions().size() + " solutions instead of "
+                    + puzzle.expectedSolutions());
+        }
+    }
+
+    public void writeJson(List<Result> results, PrintStream out) {
+        Runtime runtime = Runtime.getRuntime();
+        out.println("{");
+        out.printf(Locale.ROOT, "  \"javaVersion\": \"%s\",%n", System.getProperty("java.version"));
+        out.printf(Locale.ROOT, "  \"availableProcessors\": %d,%n", runtime.availableProcessors());
+        out.printf(Locale.ROOT, "  \"maxHeapBytes\": %d,%n", runtime.maxMemory());
+        out.printf(Locale.ROOT, "  \"warmUpRuns\": %d,%n", warmUpRuns);
+        out.printf(Locale.ROOT, "  \"measuredRuns\": %d,%n", measuredRuns);
+        out.println("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            double medianSeconds = result.medianNanos() / 1e9;
+            double nodesPerRun = (double) result.nodes() / measuredRuns;
+            out.printf(Locale.ROOT, "    {\"puzzle\": \"%s\", \"threads\": %d, \"wallMillis\": %s, \"medianWallMillis\": %.3f, "
+                            + "\"nodesPerSecond\": %.0f, \"solutionsPerSecond\": %.0f, \"solutions\": %d, \"peakHeapBytes\": %d, "
+                            + "\"scalingEfficiency\": %.3f}%s%n",
+                    result.puzzle(), result.threads(), toMillisArray(result.nanos()), result.medianNanos() / 1e6,
+                    nodesPerRun / medianSeconds, result.solutions() / medianSeconds, result.solutions(),
+                    result.peakHeapBytes(), result.scalingEfficiency(), i + 1 < results.size() ? "," : "");
+        }
+        out.println("  ]");
+        out.println("}");
+    }
+
+    private static String toMillisArray(long[] nanos) {
+        StringBuilder millis = new StringBuilder("[");
+        for (int i = 0; i < nanos.length; i++) {
+            millis.append(i > 0 ? ", " : "").append(String.format(Locale.ROOT, "%.3f", nanos[i] / 1e6));
+        }
+        return millis.append("]").toString();
+    }
+
+    // [threads, e.g. 1,2,4] [warm-up runs] [measured runs] [report file, - for stdout] [puzzle names ...], all puzzles by default
+    public static void main(String[] args) throws IOException {
+        int[] threadCounts = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, Runtime.getRuntime().availableProcessors()};
+        int warmUpRuns = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int measuredRuns = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        String reportFile = args.length > 3 ? args[3] : "-";
+        List<String> names = args.length > 4 ? Arrays.asList(args).subList(4, args.length) : List.of();
+
+        List<Puzzle> corpus = loadCorpus().stream()
+                .filter(puzzle -> names.isEmpty() || names.contains(puzzle.name()))
+                .toList();
+        MacroBenchmark benchmark = new MacroBenchmark(Arrays.stream(threadCounts).distinct().toArray(), warmUpRuns, measuredRuns);
+        List<Result> results = benchmark.run(corpus);
+        if (reportFile.equals("-")) {
+            benchmark.writeJson(results, System.out);
+        } else {
+            try (PrintStream out = new PrintStream(reportFile, StandardCharsets.UTF_8)) {
+                benchmark.writeJson(results, out);
+            }
+        }
+    }
+
+    public record Puzzle(String name, BoardSnapshot board, List<Integer> diceNumbers, List<Integer> fixedDiceNumbers,
+                         long expectedSolutions) {
+    }
+
+    public record Result(String puzzle, int threads, long[] nanos, long nodes, long solutions, long peakHeapBytes,
+                         double scalingEfficiency) {
+
+        public long medianNanos() {
+            return nanos[nanos.length / 2];
+        }
+
+        private Result withScalingEfficiency(double scalingEfficiency) {
+            return new Result(puzzle, threads, nanos, nodes, solutions, peakHeapBytes, scalingEfficiency);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+
+// development tool, not shipped: meet-in-the-middle solutions against the solver
+public class MeetInTheMiddleCheck {
+
+    public static void main(String[] args) { // [roll, e.g. 112234 ...], cross-checks the solutions against the solver
+        List<List<Integer>> rolls = args.length > 0
+                ? Arrays.stream(args).map(roll -> roll.chars().mapToObj(digit -> digit - '0').toList()).toList()
+                : List.of(List.of(1, 1, 2, 2, 3, 4), List.of(1, 3, 5, 5, 6, 6), List.of(1, 2, 3, 4, 5, 6));
+        BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+        MeetInTheMiddleSolver meetInTheMiddle = new MeetInTheMiddleSolver(PlacementTable.DEFAULT);
+
+        for (List<Integer> roll : rolls) {
+            long start = System.nanoTime();
+            SolutionList joined = meetInTheMiddle.solve(emptyBoard, roll);
+            long joiningNanos = System.nanoTime() - start;
+
+            Solver solver = new Solver(null, false, Runtime.getRuntime().availableProcessors());
+            solver.setPrintStatistics(false);
+            start = System.nanoTime();
+            solver.solve(emptyBoard, roll, List.of());
+            long solvingNanos = System.nanoTime() - start;
+
+            System.out.printf("%s: %d solutions joined in %.1f ms, %d searched in %.1f ms%n", roll, joined.size(),
+                    joiningNanos / 1e6, solver.getSolutions().size(), solvingNanos / 1e6);
+            if (!Arrays.equals(joined.toSortKeyArray(), solver.getSolutions().toSortKeyArray())) {
+                throw new IllegalStateException("Meet in the middle and solver disagree on " + roll);
+            }
+        }
+    }
+}
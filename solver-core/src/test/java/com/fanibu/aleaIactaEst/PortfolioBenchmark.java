@@ -0,0 +1,48 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// development tool, not shipped: first-solution latencies of a portfolio race against the default strategy
+public class PortfolioBenchmark {
+
+    private static void printLatencies(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", name, nanos[nanos.length / 2] / 1e6,
+                nanos[(int) (nanos.length * 0.99)] / 1e6, nanos[nanos.length - 1] / 1e6);
+    }
+
+    public static void main(String[] args) { // [strategies] [seed], compares first-solution latencies over all rolls
+        int numStrategies = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        List<List<Integer>> rolls = new SolutionChecker().getRolls();
+        BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+
+        long[] singleNanos = new long[rolls.size()];
+        long[] portfolioNanos = new long[rolls.size()];
+        Map<String, Integer> wins = new TreeMap<>();
+        try (PortfolioSolver portfolio = new PortfolioSolver(numStrategies, seed)) {
+            for (int i = 0; i < rolls.size(); i++) {
+                Solver solver = new Solver(null, true, 1);
+                solver.setPrintStatistics(false);
+                long start = System.nanoTime();
+                solver.solve(emptyBoard, rolls.get(i), List.of());
+                singleNanos[i] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                boolean solvable = portfolio.hasSolution(emptyBoard, rolls.get(i), List.of());
+                portfolioNanos[i] = System.nanoTime() - start;
+                wins.merge(portfolio.getLastWinner(), 1, Integer::sum);
+
+                if (solvable == solver.getSolutions().isEmpty()) {
+                    throw new IllegalStateException("Portfolio and default solver disagree on " + rolls.get(i));
+                }
+            }
+        }
+        printLatencies("default strategy", singleNanos);
+        printLatencies(numStrategies + " strategies", portfolioNanos);
+        System.out.println("wins: " + wins);
+    }
+}
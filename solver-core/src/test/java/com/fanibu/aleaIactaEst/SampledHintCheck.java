@@ -0,0 +1,56 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+// development tool, not shipped: sampled piece hints against the exact best hints
+public class SampledHintCheck {
+
+    public static void main(String[] args) { // [budget millis] [rolls] [seed], compares sampled piece hints with exact ones
+        long budgetMillis = args.length > 0 ? Long.parseLong(args[0]) : 200;
+        int numRolls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        List<List<Integer>> rolls = new SolutionChecker().getRolls();
+        Random random = new Random(seed);
+        HintSampler sampler = new HintSampler(seed);
+        BoardSnapshot emptyBoard = BoardSnapshot.of(new Board());
+        PlacementTable placementTable = PlacementTable.DEFAULT;
+
+        int numBestHints = 0;
+        for (int i = 0; i < numRolls; i++) {
+            List<Integer> roll = rolls.get(random.nextInt(rolls.size()));
+            Solver solver = new Solver(null, false, 1);
+            solver.setPrintStatistics(false);
+            solver.solve(emptyBoard, roll, List.of());
+            long[] sortKeys = solver.getSolutions().toSortKeyArray();
+            long start = System.nanoTime();
+            Optional<HintSampler.SampledHint<HintSampler.PiecePlacement>> sampledHint = sampler.samplePieceHint(emptyBoard, roll, List.of(), budgetMillis);
+            long samplingMillis = (System.nanoTime() - start) / 1_000_000;
+            if (sortKeys.length == 0 || sampledHint.isEmpty()) {
+                System.out.println(roll + ": " + sortKeys.length + " solutions, sampled hint " + sampledHint.isPresent());
+                continue;
+            }
+
+            int maxSolutions = 0;
+            for (int id = 0; id < placementTable.getNumPieces(); id++) {
+                int[] solutionsPerPlacement = new int[placementTable.getNumPlacements(id)];
+                for (long sortKey : sortKeys) {
+                    maxSolutions = Math.max(maxSolutions, ++solutionsPerPlacement[placementTable.getPlacementOfSortKey(sortKey, id)]);
+                }
+            }
+            HintSampler.PiecePlacement hint = sampledHint.get().hint();
+            long hintSolutions = Arrays.stream(sortKeys)
+                    .filter(sortKey -> placementTable.getPlacementOfSortKey(sortKey, hint.pieceId()) == hint.placement())
+                    .count();
+            if (hintSolutions == maxSolutions) {
+                numBestHints++;
+            }
+            System.out.printf("%s: %d solutions, hint in %d (estimated %.0f, best %d), confidence %.2f, %d samples in %d ms%n", roll,
+                    sortKeys.length, hintSolutions, sampledHint.get().estimatedSolutions(), maxSolutions,
+                    sampledHint.get().confidence(), sampledHint.get().samples(), samplingMillis);
+        }
+        System.out.println("best hint found for " + numBestHints + "/" + numRolls + " rolls");
+    }
+}
@@ -0,0 +1,47 @@
+package com.fanibu.aleaIactaEst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// development tool, not shipped: counted solutions against enumerated ones, with and without fixed dice
+public class SolutionCountCheck {
+
+    // [roll, e.g. 112234 ...], cross-checks the counts against full enumeration on the empty board,
+    // then on random boards with fixed dice and a placed piece
+    public static void main(String[] args) {
+        List<List<Integer>> rolls = args.length > 0
+                ? Arrays.stream(args).map(roll -> roll.chars().mapToObj(digit -> digit - '0').toList()).toList()
+                : List.of(List.of(1, 1, 2, 2, 3, 4), List.of(1, 3, 5, 5, 6, 6), List.of(1, 2, 3, 4, 5, 6));
+        SolutionCounter counter = new SolutionCounter(PlacementTable.DEFAULT);
+
+        List<EngineConformance.Case> cases = new ArrayList<>();
+        for (List<Integer> roll : rolls) {
+            cases.add(new EngineConformance.Case(BoardSnapshot.of(new Board()), roll, List.of()));
+        }
+        BoardSnapshot fixedOne = BoardSnapshot.of(new Board()).withFixedDiceFields(BitBoard.fieldBit(4, 3));
+        cases.add(new EngineConformance.Case(fixedOne, List.of(1, 1, 2, 3, 4, 5), List.of(1)));
+        fixedOne = BoardSnapshot.of(new Board()).withFixedDiceFields(BitBoard.fieldBit(1, 2));
+        cases.add(new EngineConformance.Case(fixedOne, List.of(1, 2, 3, 5, 5, 5), List.of(1)));
+        cases.addAll(EngineConformance.createCorpus(25, 0, 0));
+
+        for (EngineConformance.Case testCase : cases) {
+            long start = System.nanoTime();
+            long count = counter.count(testCase.board(), testCase.diceNumbers());
+            long countingNanos = System.nanoTime() - start;
+
+            Solver solver = new Solver(null, false, Runtime.getRuntime().availableProcessors());
+            solver.setPrintStatistics(false);
+            start = System.nanoTime();
+            solver.solve(testCase.board(), testCase.diceNumbers(), testCase.fixedDiceNumbers());
+            long solvingNanos = System.nanoTime() - start;
+
+            int enumerated = solver.getSolutions().size();
+            System.out.printf("%s: %d solutions counted in %.1f ms, %d enumerated in %.1f ms%n", testCase, count,
+                    countingNanos / 1e6, enumerated, solvingNanos / 1e6);
+            if (count != enumerated) {
+                throw new IllegalStateException("Counting and enumeration disagree on " + testCase);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.fanibu.aleaIactaEst;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// development tool, not shipped: time and allocation of the search on a warmed single-threaded solver
+public class SolverBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final int[][] ROLLS = {
+            {2, 2, 2, 2, 2, 2}, // no solution on the original board --> only search nodes, no recorded solutions
+            {1, 1, 1, 1, 1, 1},
+            {1, 1, 2, 2, 3, 3}
+    };
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Solver solver = new Solver(null, false, 1); // single-threaded, so all allocations happen on this thread
+    private final AtomicBoolean setupOnly = new AtomicBoolean(); // a solve started with it set returns before searching
+
+    public SolverBenchmark() {
+        solver.setPrintStatistics(false);
+        solver.setCancellation(setupOnly);
+        for (int[] roll : ROLLS) {
+            benchmarkRoll(Arrays.stream(roll).boxed().toList());
+        }
+    }
+
+    private void benchmarkRoll(List<Integer> diceNumbers) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            solver.solve(new Board(), diceNumbers, List.of());
+        }
+
+        BoardSnapshot board = BoardSnapshot.of(new Board());
+        long setupBytes = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        long totalNodes = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            setupOnly.set(true);
+            long bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+            solver.solve(board, diceNumbers, List.of());
+            setupBytes += threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+            setupOnly.set(false);
+            bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+            long nanosBefore = System.nanoTime();
+            solver.solve(board, diceNumbers, List.of());
+            totalNanos += System.nanoTime() - nanosBefore;
+            totalBytes += threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+            totalNodes += solver.getVisitedNodes();
+        }
+
+        // what the search allocates beyond the setup is the recorded solutions, so it is also given per solution
+        long searchBytes = Math.max(totalBytes - setupBytes, 0);
+        int numSolutions = solver.getSolutions().size();
+        System.out.printf("%s: %d solutions, %.1f ms/solve, %.1f ns/node, setup %d B/solve, search %.4f B/node%s%n",
+                diceNumbers, numSolutions, totalNanos / 1e6 / MEASURED_RUNS, (double) totalNanos / totalNodes,
+                setupBytes / MEASURED_RUNS, (double) searchBytes / totalNodes,
+                numSolutions > 0 ? String.format(" = %.1f B/solution", (double) searchBytes / MEASURED_RUNS / numSolutions) : "");
+    }
+
+    public static void main(String[] args) {
+        new SolverBenchmark();
+    }
+}
@@ -0,0 +1,73 @@
+package com.fanibu.aleaIactaEst;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// development tool, not shipped: solves the bundled classic variant and cross-checks its counts with the Solver,
+// then the same rolls with flipped pieces
+public class VariantSolverCheck {
+
+    public static void main(String[] args) throws IOException {
+        PuzzleVariant classic = PuzzleVariant.loadResource(PuzzleVariant.CLASSIC_RESOURCE);
+        for (int row = 0; row < Board.DIM; row++) {
+            for (int column = 0; column < Board.DIM; column++) {
+                if (classic.getNumber(row * classic.getColumns() + column) != Board.getNumbers()[row][column]) {
+                    throw new IllegalStateException(classic.getName() + " differs from the board at " + row + "," + column);
+                }
+            }
+        }
+        List<Piece> pieces = PieceCollection.createPieceInstances();
+        for (Piece piece : pieces) {
+            if (classic.getOrientations(piece.getId()).length != piece.getOrientations().length) {
+                throw new IllegalStateException(classic.getPieceName(piece.getId()) + " has other orientations than the PieceCollection");
+            }
+        }
+        PuzzleVariant flip = PuzzleVariant.loadResource(PuzzleVariant.CLASSIC_FLIP_RESOURCE);
+        VariantSolver flipSolver = new VariantSolver(flip);
+        for (int piece = 0; piece < flip.getNumPieces(); piece++) {
+            System.out.printf("%s: %d orientations, %d with flip%n", flip.getPieceName(piece),
+                    classic.getOrientations(piece).length, flip.getOrientations(piece).length);
+        }
+
+        VariantSolver variantSolver = new VariantSolver(classic);
+        System.out.printf("%d placements, %d with flip%n", variantSolver.getNumPlacements(), flipSolver.getNumPlacements());
+        for (List<Integer> diceNumbers : List.of(List.of(1, 1, 1, 1, 1, 1), List.of(1, 1, 3, 3, 5, 5),
+                List.of(1, 1, 2, 2, 3, 4), List.of(1, 2, 3, 4, 5, 6), List.of(2, 2, 2, 2, 2, 2))) {
+            long startTime = System.nanoTime();
+            long count = variantSolver.count(diceNumbers);
+            double variantMillis = (System.nanoTime() - startTime) / 1e6;
+
+            Solver solver = new Solver(null, false);
+            solver.setPrintStatistics(false);
+            startTime = System.nanoTime();
+            solver.solve(new Board(), diceNumbers, List.of());
+            double solverMillis = (System.nanoTime() - startTime) / 1e6;
+
+            System.out.printf("%s: %d solutions in %.1f ms, Solver %d in %.1f ms%n",
+                    diceNumbers, count, variantMillis, solver.getSolutions().size(), solverMillis);
+            if (count != solver.getSolutions().size()) {
+                throw new IllegalStateException("Solution counts differ for " + diceNumbers);
+            }
+        }
+
+        // flipping multiplies the solutions, so only the cheap rolls: no two solutions may cover the same fields
+        for (List<Integer> diceNumbers : List.of(List.of(1, 1, 1, 1, 1, 1), List.of(2, 2, 2, 2, 2, 2))) {
+            long startTime = System.nanoTime();
+            long count = flipSolver.count(diceNumbers);
+            double flipMillis = (System.nanoTime() - startTime) / 1e6;
+            Set<String> distinct = new HashSet<>();
+            flipSolver.forEachSolution(diceNumbers, solution -> distinct.add(Arrays.stream(solution)
+                    .mapToObj(placement -> Arrays.toString(flipSolver.getPlacementFields(placement)))
+                    .collect(Collectors.joining())));
+            System.out.printf("%s with flip: %d solutions in %.1f ms, %d distinct, %d without flip%n",
+                    diceNumbers, count, flipMillis, distinct.size(), variantSolver.count(diceNumbers));
+            if (distinct.size() != count || count < variantSolver.count(diceNumbers)) {
+                throw new IllegalStateException("Duplicate or missing solutions with flip for " + diceNumbers);
+            }
+        }
+    }
+}
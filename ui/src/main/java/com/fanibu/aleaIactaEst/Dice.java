@@ -6,7 +6,7 @@ import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 
-public class Dice extends Canvas {
+public class Dice extends Canvas implements FixedDice {
 
     private static final int FIELD_SIZE = MainFrame.FIELD_SIZE;
     private static final int FIELD_SIZE_HALF = MainFrame.FIELD_SIZE / 2;
@@ -117,6 +117,7 @@ public class Dice extends Canvas {
         return fixedFieldPosition != null;
     }
 
+    @Override
     public void setFixedField(FieldPosition fieldPosition) {
         this.fixedFieldPosition = fieldPosition;
     }
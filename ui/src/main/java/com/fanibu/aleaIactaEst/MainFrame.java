@@ -11,6 +11,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseButton;
@@ -27,6 +28,8 @@ import javafx.stage.Stage;
 import java.util.*;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.ToIntFunction;
 
 public class MainFrame extends Application {
@@ -35,6 +38,8 @@ public class MainFrame extends Application {
 
     private static final int CANVAS_SIZE = Board.DIM * FIELD_SIZE;
 
+    private static final long SAMPLED_HINT_BUDGET_MILLIS = 300;
+
     private Pane rootPane;
 
     private final Canvas canvas = new Canvas(CANVAS_SIZE, CANVAS_SIZE);
@@ -45,7 +50,11 @@ public class MainFrame extends Application {
 
     private final PieceSidebar pieceSidebar = new PieceSidebar(this);
 
-    private final Solver solver = new Solver(this);
+    private final Solver solver = new Solver(this::indicateSolvingFinished);
+    private final HintSampler hintSampler = new HintSampler(System.nanoTime());
+    private Thread solveThread;
+    private volatile boolean solvingFinished;
+    private volatile boolean solveCurrent; // the running or finished solve belongs to the board, false once it is reset
 
     private Button solveButton;
     private Button firstSolutionButton, previusSolutionButton, nextSolutionButton, lastSolutionButton;
@@ -54,7 +63,7 @@ public class MainFrame extends Application {
     private List<Piece> fixedPiecesOnBoard = new ArrayList<>();
 
     private boolean showSolution = false;
-    private Board withoutSolutionBoard;
+    private BoardSnapshot withoutSolutionBoard;
 
     private boolean anySolutionFound = false;
     private int currentSolutionNumber;
@@ -84,8 +93,8 @@ public class MainFrame extends Application {
             int minPieceRow = getMinAttributeField(draggedPiece.getOccupiedFields(), Field::getRow);
             int minPieceColumn = getMinAttributeField(draggedPiece.getOccupiedFields(), Field::getColumn);
             Field minField = board.getFieldOnBoard(minPieceRow, minPieceColumn);
-            int offsetX = (int) (mouseEvent.getX() - minField.getTopLeftCornerXCoordinate());
-            int offsetY = (int) (mouseEvent.getY() - minField.getTopLeftCornerYCoordinate());
+            int offsetX = (int) (mouseEvent.getX() - getTopLeftCornerXCoordinate(minField));
+            int offsetY = (int) (mouseEvent.getY() - getTopLeftCornerYCoordinate(minField));
 
             board.removePieceFromBoard(draggedPiece);
             dragFieldOrigin = minField;
@@ -133,8 +142,8 @@ public class MainFrame extends Application {
 
         if (board.fitsInPlace(dragPieceOrientation, rowToBePlaced, columnToBePlaced)) {
             dragFieldToBePlaced = board.getFieldOnBoard(rowToBePlaced, columnToBePlaced);
-            int fieldSceneX = (int) (canvasCoords.getMinX() + dragFieldToBePlaced.getTopLeftCornerXCoordinate());
-            int fieldSceneY = (int) (canvasCoords.getMinY() + dragFieldToBePlaced.getTopLeftCornerYCoordinate());
+            int fieldSceneX = (int) (canvasCoords.getMinX() + getTopLeftCornerXCoordinate(dragFieldToBePlaced));
+            int fieldSceneY = (int) (canvasCoords.getMinY() + getTopLeftCornerYCoordinate(dragFieldToBePlaced));
             floatingPieceCanvas.relocate(fieldSceneX, fieldSceneY);
             return true;
         }
@@ -200,20 +209,32 @@ public class MainFrame extends Application {
 
     private void updateSolution() {
         if (anySolutionFound) {
-            Board newBoard = showSolution ? solver.getSolutions().get(currentSolutionNumber - 1) : withoutSolutionBoard;
-            if (board != newBoard) {
-                newBoard.setFixedFields(board.getFixedFields());
-                board = newBoard;
-            }
+            BoardSnapshot newBoard = showSolution ? solver.getSolutions().get(currentSolutionNumber - 1) : withoutSolutionBoard;
+            board = toBoardWithFixedFields(newBoard);
             updatePiecesWithoutSolutionReset();
         }
     }
 
+    private Board toBoardWithFixedFields(BoardSnapshot snapshot) {
+        Board newBoard = snapshot.toBoard();
+        newBoard.setFixedFields(board.getFixedFields());
+        return newBoard;
+    }
+
+    public static int getTopLeftCornerXCoordinate(Field field) {
+        return field.getColumn() * FIELD_SIZE;
+    }
+
+    public static int getTopLeftCornerYCoordinate(Field field) {
+        return field.getRow() * FIELD_SIZE;
+    }
+
     public void indicateSolvingFinished() {
-        if (solver.isSolving()) {
+        if (solveCurrent) {
             updateSolutionStats();
             String solveButtonText = numberSolutionsFound == 0 ? "No solution." : "Solved.";
             Platform.runLater(() -> solveButton.setText(solveButtonText));
+            solvingFinished = true;
             if (numberSolutionsFound > 0) {
                 hintPieceButton.setDisable(false);
                 hintDiceButton.setDisable(false);
@@ -224,15 +245,21 @@ public class MainFrame extends Application {
 
     public void updateSolutionStats() {
         this.numberSolutionsFound = solver.getSolutions().size();
+        SolveProgress progress = solver.getProgress();
 
         Platform.runLater(() -> {
             synchronized (this) {
-                if (solver.isSolving()) {
+                if (solveCurrent) {
+                    if (progress != null && !progress.isFinished()) {
+                        solveButton.setText(formatProgress(progress));
+                    }
                     if (!anySolutionFound && numberSolutionsFound > 0) {
                         anySolutionFound = true;
                         currentSolutionNumber = 1;
                         fixedPiecesOnBoard = board.getPiecesOnBoard();
                         updateSolution();
+                        hintPieceButton.setDisable(false); // sampled hints until the enumeration is finished
+                        hintDiceButton.setDisable(false);
                     }
                     updateSolutionObjects();
                 }
@@ -242,6 +269,12 @@ public class MainFrame extends Application {
     }
 
 
+    private static String formatProgress(SolveProgress progress) {
+        long remainingMillis = progress.getEstimatedRemainingMillis();
+        String remaining = remainingMillis < 0 ? "" : " (" + (remainingMillis + 999) / 1000 + "s left)";
+        return String.format("Solving... %d%%%s", (int) (100 * progress.getFraction()), remaining);
+    }
+
     private void updateSolutionObjects() {
         firstSolutionButton.setDisable(currentSolutionNumber <= 1);
         previusSolutionButton.setDisable(currentSolutionNumber <= 1);
@@ -270,22 +303,35 @@ public class MainFrame extends Application {
     }
 
     private void solveBoard() {
-        withoutSolutionBoard = board.copy();
+        withoutSolutionBoard = BoardSnapshot.of(board);
 
         solveButton.setDisable(true);
         solveButton.setText("Solving...");
 
-        List<Integer> diceNumbers = Arrays.stream(dices).map(Dice::getNumber).toList();
-        List<Integer> fixedDiceNumbers = Arrays.stream(dices).filter(Dice::isFieldFixed).map(Dice::getNumber).toList();
-        new Thread(() -> solver.solve(board, diceNumbers, fixedDiceNumbers)).start();
+        List<Integer> diceNumbers = getDiceNumbers();
+        List<Integer> fixedDiceNumbers = getFixedDiceNumbers();
+        solver.setProgressTracking(true);
+        solvingFinished = false;
+        solveCurrent = true;
+        solveThread = new Thread(() -> solver.solve(board, diceNumbers, fixedDiceNumbers));
+        solveThread.start();
 
         long period = 1000 / 30;
         solutionStatsUpdater = new ScheduledThreadPoolExecutor(1);
         solutionStatsUpdater.scheduleAtFixedRate(this::updateSolutionStats, period, period, TimeUnit.MILLISECONDS);
     }
 
+    private List<Integer> getDiceNumbers() {
+        return Arrays.stream(dices).map(Dice::getNumber).toList();
+    }
+
+    private List<Integer> getFixedDiceNumbers() {
+        return Arrays.stream(dices).filter(Dice::isFieldFixed).map(Dice::getNumber).toList();
+    }
+
     public void resetSolutionObjects() {
         synchronized (this) {
+            solveCurrent = false;
             solver.stop();
         }
         anySolutionFound = false;
@@ -320,7 +366,7 @@ public class MainFrame extends Application {
             Dice alteredDice = null;
 
             if (field.isDiceFixed()) {
-                alteredDice = field.getFixedDice();
+                alteredDice = (Dice) field.getFixedDice();
                 board.removeFixedDice(alteredDice, field, true);
                 diceChange = true;
             } else {
@@ -371,7 +417,7 @@ public class MainFrame extends Application {
             graphics.strokeLine(0, i * FIELD_SIZE, CANVAS_SIZE, i * FIELD_SIZE);
         }
 
-        board.getPiecesOnBoard().forEach(piece -> piece.drawPiece(graphics, fixedPiecesOnBoard));
+        board.getPiecesOnBoard().forEach(piece -> PiecePainter.drawPiece(graphics, piece, fixedPiecesOnBoard));
     }
 
     private void removePiece(double mouseX, double mouseY) {
@@ -388,8 +434,8 @@ public class MainFrame extends Application {
     }
 
     private void drawField(Field field) {
-        int xOffset = field.getTopLeftCornerXCoordinate();
-        int yOffset = field.getTopLeftCornerYCoordinate();
+        int xOffset = getTopLeftCornerXCoordinate(field);
+        int yOffset = getTopLeftCornerYCoordinate(field);
 
         if (field.isDiceFixed()) {
             graphics.setFill(Dice.getFixedDiceFillColor(field.getNumber()));
@@ -475,7 +521,9 @@ public class MainFrame extends Application {
     }
 
     private void placePieceHint() {
-        if (!board.getAvailablePieces().isEmpty()) {
+        if (!solvingFinished) {
+            placeSampledPieceHint();
+        } else if (!board.getAvailablePieces().isEmpty()) {
             Solver.PiecePositionSolutions bestPiecePosition = solver.getNextHintPiecePosition(board.getAvailablePieces());
             board.placePieceOnBoard(bestPiecePosition.piece(), bestPiecePosition.orientation(),
                     bestPiecePosition.position().row(), bestPiecePosition.position().column());
@@ -486,6 +534,10 @@ public class MainFrame extends Application {
 
     private void placeDiceHint() {
         if (board.getFixedFields().size() < Board.DIM) {
+            if (!solvingFinished) {
+                placeSampledDiceHint();
+                return;
+            }
             Field bestDiceField = solver.getNextHintDicePosition(board.getUnoccupiedFields());
             Dice unfixedDice = findUnfixedDice(bestDiceField).orElseThrow();
             board.addFixedDice(unfixedDice, bestDiceField);
@@ -494,6 +546,90 @@ public class MainFrame extends Application {
         }
     }
 
+    // the enumeration is still running: the hint comes from sampled solutions, then solving restarts with the hint on the board
+    private void placeSampledPieceHint() {
+        List<Integer> diceNumbers = getDiceNumbers();
+        List<Integer> fixedDiceNumbers = getFixedDiceNumbers();
+        sampleHintInBackground(sampledBoard -> hintSampler.samplePieceHint(sampledBoard, diceNumbers, fixedDiceNumbers,
+                SAMPLED_HINT_BUDGET_MILLIS), sampledHint -> {
+            HintSampler.PiecePlacement hint = sampledHint.hint();
+            stopSolvingForHint(() -> {
+                board = toBoardWithFixedFields(withoutSolutionBoard.withPlacement(hint.pieceId(), hint.placement()));
+                fixedPiecesOnBoard.add(board.getAllPieces().get(hint.pieceId()));
+                showHintConfidence(hintPieceButton, sampledHint);
+                updatePieceSidebar();
+                drawBoard();
+                solveBoard();
+            });
+        });
+    }
+
+    private void placeSampledDiceHint() {
+        List<Integer> diceNumbers = getDiceNumbers();
+        List<Integer> fixedDiceNumbers = getFixedDiceNumbers();
+        sampleHintInBackground(sampledBoard -> hintSampler.sampleDiceHint(sampledBoard, diceNumbers, fixedDiceNumbers,
+                ~sampledBoard.getOccupiedFields() & BitBoard.ALL_FIELDS, SAMPLED_HINT_BUDGET_MILLIS), sampledHint -> {
+            int fieldIndex = sampledHint.hint();
+            stopSolvingForHint(() -> {
+                board = toBoardWithFixedFields(withoutSolutionBoard);
+                Field bestDiceField = board.getFieldOnBoard(fieldIndex / Board.DIM, fieldIndex % Board.DIM);
+                Dice unfixedDice = findUnfixedDice(bestDiceField).orElseThrow();
+                board.addFixedDice(unfixedDice, bestDiceField);
+                unfixedDice.draw();
+                showHintConfidence(hintDiceButton, sampledHint);
+                updatePieceSidebar();
+                drawBoard();
+                solveBoard();
+            });
+        });
+    }
+
+    // sampling takes the whole hint budget, so it runs off the application thread; its hint is dropped if the board
+    // or the solve it was sampled for changed in the meantime, the enumeration finishing leaves the exact hints
+    private <T> void sampleHintInBackground(Function<BoardSnapshot, Optional<HintSampler.SampledHint<T>>> sampling,
+                                            Consumer<HintSampler.SampledHint<T>> application) {
+        hintPieceButton.setDisable(true);
+        hintDiceButton.setDisable(true);
+        BoardSnapshot sampledBoard = withoutSolutionBoard;
+        Thread samplingThread = new Thread(() -> {
+            Optional<HintSampler.SampledHint<T>> sampledHint = sampling.apply(sampledBoard);
+            Platform.runLater(() -> {
+                if (!solveCurrent || withoutSolutionBoard != sampledBoard) {
+                    return;
+                }
+                hintPieceButton.setDisable(false);
+                hintDiceButton.setDisable(false);
+                if (!solvingFinished) {
+                    sampledHint.ifPresent(application);
+                }
+            });
+        });
+        samplingThread.setDaemon(true);
+        samplingThread.start();
+    }
+
+    // a stopped solve returns at its next placement check, waited for off the application thread so the UI stays responsive
+    private void stopSolvingForHint(Runnable continuation) {
+        resetSolutionObjects();
+        solveButton.setDisable(true); // the solver is still busy until the continuation starts the next solve
+        Thread stoppedSolveThread = solveThread;
+        Thread waitingThread = new Thread(() -> {
+            try {
+                stoppedSolveThread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            Platform.runLater(continuation);
+        });
+        waitingThread.setDaemon(true);
+        waitingThread.start();
+    }
+
+    private static void showHintConfidence(Button hintButton, HintSampler.SampledHint<?> sampledHint) {
+        hintButton.setTooltip(new Tooltip(String.format("Sampled hint: in about %.0f%% of the solutions, best with %.0f%% confidence",
+                100 * sampledHint.estimatedShare(), 100 * sampledHint.confidence())));
+    }
+
     private void updateBoardAfterHint() {
         currentSolutionNumber = 1;
         updateSolutionStats();
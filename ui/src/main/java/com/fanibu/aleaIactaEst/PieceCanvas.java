@@ -71,7 +71,7 @@ public class PieceCanvas extends Canvas {
     private void draw(int fieldSize) {
         GraphicsContext graphics = getGraphicsContext2D();
         graphics.scale((double) fieldSize / MainFrame.FIELD_SIZE, (double) fieldSize / MainFrame.FIELD_SIZE);
-        piece.drawPiece(getGraphicsContext2D(), List.of());
+        PiecePainter.drawPiece(getGraphicsContext2D(), piece, List.of());
     }
 
     public int getRotationAngle() {
@@ -3,11 +3,10 @@ package com.fanibu.aleaIactaEst;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
-public class Piece {
+public class PiecePainter { // draws the outline of a piece placed on its board
 
     private static final int OUTER_STROKE = 3;
     private static final int INNER_STROKE = 2;
@@ -15,37 +14,23 @@ public class Piece {
     private static final int OUTER_MARGIN = 8;
     private static final int INNER_MARGIN = 6;
 
-    private final int numOccupations;
-    private final int minDimension, maxDimension;
-    private final PieceOrientation[] orientations;
-    private final int id;
-
-    private int rowOffsetOnBoard;
-    private int columnOffsetOnBoard;
-    private PieceOrientation orientationOnBoard;
-    private List<Field> occupiedFields;
+    private final Piece piece;
+    private final Board board;
 
     private int currentDrawX;
     private int currentDrawY;
 
-    private Board board;
-
-    public Piece(int numOccupations, PieceOrientation[] orientations, int id) {
-        this.numOccupations = numOccupations;
-        this.orientations = orientations;
-
-        PieceOrientation orientation = orientations[0];
-        this.minDimension = Math.min(orientation.getHeight(), orientation.getWidth());
-        this.maxDimension = Math.max(orientation.getHeight(), orientation.getWidth());
-        this.id = id;
+    private PiecePainter(Piece piece) {
+        this.piece = piece;
+        this.board = piece.getBoard();
     }
 
-    public Piece copy() {
-        return new Piece(numOccupations, orientations, id);
+    public static void drawPiece(GraphicsContext graphics, Piece piece, List<Piece> fixedPiecesOnBoard) {
+        new PiecePainter(piece).draw(graphics, fixedPiecesOnBoard.contains(piece));
     }
 
-    public void drawPiece(GraphicsContext graphics, List<Piece> fixedPiecesOnBoard) {
-        Color fillColor = fixedPiecesOnBoard.contains(this) ? Color.SANDYBROWN : Color.SADDLEBROWN;
+    private void draw(GraphicsContext graphics, boolean fixed) {
+        Color fillColor = fixed ? Color.SANDYBROWN : Color.SADDLEBROWN;
         graphics.setFill(fillColor);
 
         graphics.setLineWidth(OUTER_STROKE);
@@ -129,7 +114,7 @@ public class Piece {
         Field startField = null;
         Direction startDirection = null;
         outer:
-        for (Field field : occupiedFields) {
+        for (Field field : piece.getOccupiedFields()) {
             for (Direction direction : Direction.values()) {
                 if (!isAdjacentFieldPartOfPiece(field, direction)) {
                     startField = field;
@@ -149,26 +134,26 @@ public class Piece {
 
     private int getStartX(Field field, Direction direction, int gap) {
         return direction == Direction.UP || direction == Direction.LEFT ?
-                field.getTopLeftCornerXCoordinate() + gap :
-                field.getTopLeftCornerXCoordinate() + MainFrame.FIELD_SIZE - gap;
+                MainFrame.getTopLeftCornerXCoordinate(field) + gap :
+                MainFrame.getTopLeftCornerXCoordinate(field) + MainFrame.FIELD_SIZE - gap;
     }
 
     private int getEndX(Field field, Direction direction, int gap) {
         return direction == Direction.DOWN || direction == Direction.LEFT ?
-                field.getTopLeftCornerXCoordinate() + gap :
-                field.getTopLeftCornerXCoordinate() + MainFrame.FIELD_SIZE - gap;
+                MainFrame.getTopLeftCornerXCoordinate(field) + gap :
+                MainFrame.getTopLeftCornerXCoordinate(field) + MainFrame.FIELD_SIZE - gap;
     }
 
     private int getStartY(Field field, Direction direction, int gap) {
         return direction == Direction.UP || direction == Direction.RIGHT ?
-                field.getTopLeftCornerYCoordinate() + gap :
-                field.getTopLeftCornerYCoordinate() + MainFrame.FIELD_SIZE - gap;
+                MainFrame.getTopLeftCornerYCoordinate(field) + gap :
+                MainFrame.getTopLeftCornerYCoordinate(field) + MainFrame.FIELD_SIZE - gap;
     }
 
     private int getEndY(Field field, Direction direction, int gap) {
         return direction == Direction.LEFT || direction == Direction.UP ?
-                field.getTopLeftCornerYCoordinate() + gap :
-                field.getTopLeftCornerYCoordinate() + MainFrame.FIELD_SIZE - gap;
+                MainFrame.getTopLeftCornerYCoordinate(field) + gap :
+                MainFrame.getTopLeftCornerYCoordinate(field) + MainFrame.FIELD_SIZE - gap;
     }
 
     private boolean isDiagonalFieldPartOfPiece(Field field, Direction baseDirection, Direction adjacentDirection) {
@@ -183,67 +168,7 @@ public class Piece {
         int row = field.getRow() + rowOffset;
         int column = field.getColumn() + columnOffset;
 
-        return !Board.isOutOfBounds(row, column) && board.getFieldOnBoard(row, column).getOccupationPiece() == this;
-    }
-
-    public void setBoard(Board board) {
-        this.board = board;
-    }
-
-    public int getNumOccupations() {
-        return numOccupations;
-    }
-
-    public PieceOrientation[] getOrientations() {
-        return orientations;
-    }
-
-    public List<Field> getOccupiedFields() {
-        return occupiedFields;
-    }
-
-    public void setOccupiedFields(List<Field> occupiedFields) {
-        this.occupiedFields = occupiedFields;
-    }
-
-    public int getId() {
-        return id;
-    }
-
-    public PieceOrientation getOrientationOnBoard() {
-        return orientationOnBoard;
-    }
-
-    public void setOrientationOnBoard(PieceOrientation orientationOnBoard) {
-        this.orientationOnBoard = orientationOnBoard;
-    }
-
-    public int getRowOffsetOnBoard() {
-        return rowOffsetOnBoard;
-    }
-
-    public void setRowOffsetOnBoard(int rowOffsetOnBoard) {
-        this.rowOffsetOnBoard = rowOffsetOnBoard;
-    }
-
-    public int getColumnOffsetOnBoard() {
-        return columnOffsetOnBoard;
-    }
-
-    public void setColumnOffsetOnBoard(int columnOffsetOnBoard) {
-        this.columnOffsetOnBoard = columnOffsetOnBoard;
-    }
-
-    public int getOrientationIndex() {
-        return Arrays.asList(orientations).indexOf(orientationOnBoard);
-    }
-
-    public int getMinDimension() {
-        return minDimension;
-    }
-
-    public int getMaxDimension() {
-        return maxDimension;
+        return !Board.isOutOfBounds(row, column) && board.getFieldOnBoard(row, column).getOccupationPiece() == piece;
     }
 
     private enum Direction {
@@ -269,18 +194,4 @@ public class Piece {
             return values()[index];
         }
     }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (obj instanceof Piece) {
-            return ((Piece) obj).id == id;
-        }
-        return false;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-
 }